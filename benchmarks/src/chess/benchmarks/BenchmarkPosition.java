@@ -0,0 +1,75 @@
+package chess.benchmarks;
+
+import chess.model.ChessGame;
+import chess.model.Perft;
+import chess.model.Position;
+
+/**
+ * The positions the benchmarks are run against
+ */
+public enum BenchmarkPosition {
+
+    /**
+     * A few moves into a Ruy Lopez
+     */
+    OPENING {
+        @Override
+        public ChessGame setUp() {
+            ChessGame game = new ChessGame();
+            move(game, 6, 4, 4, 4);
+            move(game, 1, 4, 3, 4);
+            move(game, 7, 6, 5, 5);
+            move(game, 0, 1, 2, 2);
+            move(game, 7, 5, 3, 1);
+            move(game, 1, 0, 2, 0);
+            return game;
+        }
+    },
+
+    MIDDLEGAME {
+        @Override
+        public ChessGame setUp() {
+            return ChessGame.fromFen(Perft.ReferencePosition.MIDDLEGAME.getFen());
+        }
+    },
+
+    /**
+     * Kings, rooks and a few pawns
+     */
+    ENDGAME {
+        @Override
+        public ChessGame setUp() {
+            return ChessGame.fromFen(Perft.ReferencePosition.EN_PASSANT_DISCOVERED_CHECK.getFen());
+        }
+    },
+
+    /**
+     * The opening position reached again after both sides move their knights out and back
+     * until there are LONG_HISTORY_PLIES moves in the game history
+     */
+    LONG_HISTORY {
+        @Override
+        public ChessGame setUp() {
+            ChessGame game = OPENING.setUp();
+            while (game.getMoveHistorySize() < LONG_HISTORY_PLIES) {
+                move(game, 5, 5, 7, 6);
+                move(game, 2, 2, 0, 1);
+                move(game, 7, 6, 5, 5);
+                move(game, 0, 1, 2, 2);
+            }
+            return game;
+        }
+    };
+
+    public final static int LONG_HISTORY_PLIES = 200;
+
+    /**
+     * Creates a new game in this position
+     * @return
+     */
+    public abstract ChessGame setUp();
+
+    private static void move(ChessGame game, int fromRow, int fromCol, int toRow, int toCol) {
+        game.makeMove(Position.of(fromRow, fromCol), Position.of(toRow, toCol));
+    }
+}
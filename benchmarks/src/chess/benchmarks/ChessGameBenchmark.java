@@ -0,0 +1,85 @@
+package chess.benchmarks;
+
+import chess.model.ChessGame;
+import chess.model.PieceColor;
+import chess.model.Position;
+import chess.model.pieces.ChessPiece;
+import chess.model.pieces.Pawn;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times making moves and looking for check and checkmate on a ChessGame
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChessGameBenchmark {
+
+    @Param
+    public BenchmarkPosition position;
+
+    private ChessGame game;
+
+    //every pseudo legal move for the player whose turn it is as from, to pairs
+    private List<Position[]> candidateMoves;
+
+    //a legal move that does not promote a pawn (that would ask the player what to promote into)
+    private Position[] moveToMake;
+
+    @Setup
+    public void setUp() {
+        game = position.setUp();
+
+        candidateMoves = new ArrayList<>();
+        List<ChessPiece> alivePieces = game.getCurrentTurn() == PieceColor.WHITE
+                ? game.getWhitePieces().getAllAlivePieces() : game.getBlackPieces().getAllAlivePieces();
+        for (ChessPiece piece : alivePieces) {
+            for (Position to : piece.getLegalMoves(game, false))
+                candidateMoves.add(new Position[] { piece.getPosition(), to });
+
+            for (Position to : piece.getLegalMoves(game, true)) {
+                boolean isPromotion = piece instanceof Pawn && (to.getRow() == 0 || to.getRow() == 7);
+                if (moveToMake == null && !isPromotion)
+                    moveToMake = new Position[] { piece.getPosition(), to };
+            }
+        }
+    }
+
+    /**
+     * makeMove also works out if the move is a check or checkmate. The move is taken back
+     * so every invocation starts from the same position.
+     */
+    @Benchmark
+    public boolean makeMove() {
+        boolean moved = game.makeMove(moveToMake[0], moveToMake[1]);
+        game.unmakeMove();
+        return moved;
+    }
+
+    @Benchmark
+    public boolean isCheck() {
+        return game.isCheck();
+    }
+
+    @Benchmark
+    public boolean isCheckmate() {
+        return game.isCheckmate();
+    }
+
+    @Benchmark
+    public int moveCausesCheckForItsOwnKing() {
+        int movesCausingCheck = 0;
+        for (Position[] move : candidateMoves) {
+            if (game.moveCausesCheckForItsOwnKing(move[0], move[1]))
+                movesCausingCheck++;
+        }
+        return movesCausingCheck;
+    }
+}
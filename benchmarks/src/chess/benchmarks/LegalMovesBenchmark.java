@@ -0,0 +1,79 @@
+package chess.benchmarks;
+
+import chess.model.ChessGame;
+import chess.model.MoveList;
+import chess.model.PieceColor;
+import chess.model.PieceType;
+import chess.model.pieces.ChessPiece;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times ChessPiece.getLegalMoves for every piece of one type belonging to the player whose turn it is
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LegalMovesBenchmark {
+
+    @Param
+    public BenchmarkPosition position;
+
+    @Param
+    public PieceType pieceType;
+
+    private ChessGame game;
+    private List<ChessPiece> pieces;
+    private MoveList moveList = new MoveList();
+
+    @Setup
+    public void setUp() {
+        game = position.setUp();
+
+        pieces = new ArrayList<>();
+        List<ChessPiece> alivePieces = game.getCurrentTurn() == PieceColor.WHITE
+                ? game.getWhitePieces().getAllAlivePieces() : game.getBlackPieces().getAllAlivePieces();
+        for (ChessPiece piece : alivePieces) {
+            if (piece.getPieceType() == pieceType)
+                pieces.add(piece);
+        }
+    }
+
+    @Benchmark
+    public void legalMoves(Blackhole blackhole) {
+        for (ChessPiece piece : pieces)
+            blackhole.consume(piece.getLegalMoves(game, true));
+    }
+
+    /**
+     * Same as legalMoves but the moves are written into a reused move list instead of a new list of positions
+     */
+    @Benchmark
+    public int legalMovesIntoMoveList() {
+        moveList.clear();
+        for (ChessPiece piece : pieces)
+            piece.getLegalMoves(game, true, moveList);
+        return moveList.size();
+    }
+
+    /**
+     * Every legal move of the player whose turn it is, not just the ones of pieceType
+     */
+    @Benchmark
+    public int generateAllLegalMoves() {
+        return game.generateLegalMoves(moveList);
+    }
+
+    @Benchmark
+    public void pseudoLegalMoves(Blackhole blackhole) {
+        for (ChessPiece piece : pieces)
+            blackhole.consume(piece.getLegalMoves(game, false));
+    }
+}
@@ -3,7 +3,7 @@ package chess.controller.twod;
 
 import chess.model.ChessGame;
 import chess.model.BoardSpace;
-import chess.model.Move;
+import chess.model.PackedMove;
 import chess.model.Position;
 import chess.model.pieces.ChessPiece;
 import chess.view.twod.*;
@@ -26,9 +26,12 @@ public class BoardController {
         this.game = game;
         this.mainStage = mainStage;
 
+        //let the player choose what to promote a pawn into
+        game.setPromotionChooser(pieceColor -> new PawnPromotionDialog(pieceColor).getResult().getPieceType());
+
         for (int row = 0; row < gameUI.getGrid().length; row++) {
             for (int col = 0; col < gameUI.getGrid().length; col++) {
-                gameUI.getBoardPosition(new Position(row, col)).addEventListener(new EventHandler() {
+                gameUI.getBoardPosition(Position.of(row, col)).addEventListener(new EventHandler() {
                     @Override
                     public void handle(Event event) {
                         BoardPosition gridSpace = (BoardPosition) event.getSource();
@@ -67,8 +70,8 @@ public class BoardController {
                             deselectAllBoardPositions();
                             removeHighlightFromAllBoardPositions();
 
-                            List<Move> gameHistory = game.getGameHistory();
-                            gameUI.addMove(gameHistory.size(), gameHistory.get(gameHistory.size() - 1));
+                            int moveCount = game.getMoveHistorySize();
+                            gameUI.addMove(moveCount, PackedMove.toMove(game.getPackedMove(moveCount - 1)));
                             updateGraveyards();
                         }
                     }
@@ -0,0 +1,293 @@
+package chess.model;
+
+/**
+ * Works out which spaces a piece attacks from a space as a 64 bit mask (see BitBoard for how spaces are numbered).
+ *
+ * Row 0 is black's side of the board so white pawns attack towards lower space indexes and black pawns towards higher ones.
+ */
+public final class Attacks {
+
+    private final static int[][] KNIGHT_OFFSETS = { {-2, -1}, {-2, 1}, {2, -1}, {2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2} };
+    private final static int[][] KING_OFFSETS = { {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1} };
+    private final static int[][] ROOK_DIRECTIONS = { {-1, 0}, {1, 0}, {0, -1}, {0, 1} };
+    private final static int[][] BISHOP_DIRECTIONS = { {-1, -1}, {-1, 1}, {1, -1}, {1, 1} };
+
+    //attacks of the pieces that jump to their spaces, looked up by space index (pawns also by color)
+    private final static long[] KNIGHT_ATTACKS = new long[BitBoard.NUMBER_OF_SPACES];
+    private final static long[] KING_ATTACKS = new long[BitBoard.NUMBER_OF_SPACES];
+    private final static long[][] PAWN_ATTACKS = new long[PieceColor.values().length][BitBoard.NUMBER_OF_SPACES];
+
+    static {
+        for (int spaceIndex = 0; spaceIndex < BitBoard.NUMBER_OF_SPACES; spaceIndex++) {
+            KNIGHT_ATTACKS[spaceIndex] = leaperAttacks(spaceIndex, KNIGHT_OFFSETS);
+            KING_ATTACKS[spaceIndex] = leaperAttacks(spaceIndex, KING_OFFSETS);
+            PAWN_ATTACKS[PieceColor.WHITE.ordinal()][spaceIndex] = leaperAttacks(spaceIndex, new int[][] { {-1, -1}, {-1, 1} });
+            PAWN_ATTACKS[PieceColor.BLACK.ordinal()][spaceIndex] = leaperAttacks(spaceIndex, new int[][] { {1, -1}, {1, 1} });
+        }
+    }
+
+    //the spaces in between 2 spaces on the same row, column or diagonal (0 if they are not lined up)
+    private final static long[][] BETWEEN = new long[BitBoard.NUMBER_OF_SPACES][BitBoard.NUMBER_OF_SPACES];
+
+    static {
+        for (int from = 0; from < BitBoard.NUMBER_OF_SPACES; from++) {
+            for (int[][] directions : new int[][][] { ROOK_DIRECTIONS, BISHOP_DIRECTIONS }) {
+                for (int[] direction : directions) {
+                    long ray = 0L;
+                    int toRow = BitBoard.getRow(from) + direction[0];
+                    int toCol = BitBoard.getCol(from) + direction[1];
+
+                    while (isOnBoard(toRow, toCol)) {
+                        int to = BitBoard.toSpaceIndex(toRow, toCol);
+                        BETWEEN[from][to] = ray;
+                        ray |= 1L << to;
+
+                        toRow += direction[0];
+                        toCol += direction[1];
+                    }
+                }
+            }
+        }
+    }
+
+    //magic bitboard tables for the sliding pieces. Multiplying the relevant occupied spaces by the magic number
+    //and shifting gives the index of the attacks for that occupancy in the table of the space.
+    //The magic numbers were found with a random search, the tables are built from them when the class is loaded
+    private final static long[] ROOK_MAGICS = {
+            0x1080004008801020L, 0x0840092002C03000L, 0x1900200010400900L, 0x0880100008000480L,
+            0x4200100420080200L, 0x8100020100080400L, 0x0200040110886200L, 0x0200008040220411L,
+            0x0404800084400220L, 0x0000401000402000L, 0x0086001081220440L, 0x0408800800100280L,
+            0x000A001201040820L, 0x8848800200840080L, 0x4001000100040200L, 0x0442000102105084L,
+            0x9080010020804100L, 0x0040404000201009L, 0x0000808010002009L, 0x2200090021D00100L,
+            0x0008008008040080L, 0x0004004002010040L, 0x0011040008015042L, 0x00000A0001768104L,
+            0x0000800080204009L, 0x2010004140002001L, 0x9800200280100080L, 0x1000100080080080L,
+            0x0050500500080100L, 0x0000020080040080L, 0x0C10010400420810L, 0x1040008200005104L,
+            0x01808240088004A0L, 0x0882804004802000L, 0x0880402001001100L, 0x2000210409001000L,
+            0x2000480131001500L, 0x0000800400800200L, 0x000002380C001003L, 0x4600084882000431L,
+            0x0080002000504000L, 0x0300500020004002L, 0x0040408200220011L, 0x0010040008004040L,
+            0x0000080004008080L, 0x0010040002008080L, 0x2012004881020004L, 0x8300842444820011L,
+            0x0088403882010200L, 0x0820400080210100L, 0x0110910040A00300L, 0x0801100280080480L,
+            0x0242009008200600L, 0x1002000489500200L, 0x0040800200010080L, 0x0091800041000080L,
+            0x0000209300488001L, 0x04C1002414824001L, 0x020020000B001041L, 0x7000100004200901L,
+            0x8002002004100802L, 0x30010002084C0007L, 0x0888221800813004L, 0x4000002840840112L
+    };
+    private final static long[] BISHOP_MAGICS = {
+            0x20C0090901061081L, 0x0024040094030104L, 0x8210810200290200L, 0x0011040484620000L,
+            0x0081104002221000L, 0x0009012011001350L, 0x0081010802400380L, 0x0000420210010408L,
+            0x0008105002280050L, 0x0001028484040044L, 0x2A00880810408804L, 0x7020022282000100L,
+            0x0084040420100A50L, 0x000401010840E000L, 0x2020020210420888L, 0x0008084202012010L,
+            0x2010400810018800L, 0x0445122008020840L, 0x0804100808002008L, 0x0008002104110100L,
+            0x0061005820080800L, 0x2001000200820100L, 0x480C210084010800L, 0x3004442500480420L,
+            0x1010102240048100L, 0x00182009084220A3L, 0x8803090A10004205L, 0x0208080040202020L,
+            0x000C044084010040L, 0x00A1010002004106L, 0x6008210020640202L, 0x1600902112860801L,
+            0x00042008C1220200L, 0x010C042002440140L, 0x5022080200040820L, 0x0402004042940100L,
+            0x0860108400008020L, 0x000C080022021000L, 0x0264080652822100L, 0x4005031221010401L,
+            0x0004502410008400L, 0x000500B010A20400L, 0x0415094050080800L, 0x080000201800A104L,
+            0x4022A80304000110L, 0x4012140802028020L, 0x40200104010100A0L, 0x12810806008B0C41L,
+            0x0020441008080000L, 0x2002120084045420L, 0x0704020062080002L, 0x0000001084040001L,
+            0x0322200891240200L, 0xF040200210024800L, 0x0140824832008042L, 0x000210020A004602L,
+            0x0083042805141020L, 0x002C12009A011000L, 0x0041A00044140400L, 0x00004004020A0202L,
+            0x0000140010020210L, 0x2864160811012200L, 0x2060080841082A17L, 0xA010041108003100L
+    };
+
+    private final static long[] ROOK_MASKS = new long[BitBoard.NUMBER_OF_SPACES];
+    private final static int[] ROOK_SHIFTS = new int[BitBoard.NUMBER_OF_SPACES];
+    private final static long[][] ROOK_TABLES = new long[BitBoard.NUMBER_OF_SPACES][];
+
+    private final static long[] BISHOP_MASKS = new long[BitBoard.NUMBER_OF_SPACES];
+    private final static int[] BISHOP_SHIFTS = new int[BitBoard.NUMBER_OF_SPACES];
+    private final static long[][] BISHOP_TABLES = new long[BitBoard.NUMBER_OF_SPACES][];
+
+    static {
+        for (int spaceIndex = 0; spaceIndex < BitBoard.NUMBER_OF_SPACES; spaceIndex++) {
+            buildMagicTable(spaceIndex, ROOK_DIRECTIONS, ROOK_MAGICS[spaceIndex], ROOK_MASKS, ROOK_SHIFTS, ROOK_TABLES);
+            buildMagicTable(spaceIndex, BISHOP_DIRECTIONS, BISHOP_MAGICS[spaceIndex], BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_TABLES);
+        }
+    }
+
+    private Attacks() {
+    }
+
+    /**
+     * Gets the spaces in between 2 spaces (not including either of them) if they are on the same
+     * row, column or diagonal
+     *
+     * @param from
+     * @param to
+     * @return The spaces in between or 0 if the spaces are not lined up
+     */
+    public static long between(int from, int to) {
+        return BETWEEN[from][to];
+    }
+
+    public static long knightAttacks(int spaceIndex) {
+        return KNIGHT_ATTACKS[spaceIndex];
+    }
+
+    public static long kingAttacks(int spaceIndex) {
+        return KING_ATTACKS[spaceIndex];
+    }
+
+    /**
+     * Gets the 2 spaces diagonally in front of a pawn (the ones it can capture on)
+     *
+     * @param color The color of the pawn
+     * @param spaceIndex
+     * @return
+     */
+    public static long pawnAttacks(PieceColor color, int spaceIndex) {
+        return PAWN_ATTACKS[color.ordinal()][spaceIndex];
+    }
+
+    /**
+     * Gets the spaces a rook attacks. Each direction goes up to and including the first occupied space.
+     *
+     * @param spaceIndex
+     * @param occupied The mask of all occupied spaces
+     * @return
+     */
+    public static long rookAttacks(int spaceIndex, long occupied) {
+        return ROOK_TABLES[spaceIndex][(int) (((occupied & ROOK_MASKS[spaceIndex]) * ROOK_MAGICS[spaceIndex]) >>> ROOK_SHIFTS[spaceIndex])];
+    }
+
+    public static long bishopAttacks(int spaceIndex, long occupied) {
+        return BISHOP_TABLES[spaceIndex][(int) (((occupied & BISHOP_MASKS[spaceIndex]) * BISHOP_MAGICS[spaceIndex]) >>> BISHOP_SHIFTS[spaceIndex])];
+    }
+
+    public static long queenAttacks(int spaceIndex, long occupied) {
+        return rookAttacks(spaceIndex, occupied) | bishopAttacks(spaceIndex, occupied);
+    }
+
+    /**
+     * Same as rookAttacks but found by walking each direction one space at a time. This is what
+     * the magic tables are built from and checked against.
+     */
+    public static long rookRayAttacks(int spaceIndex, long occupied) {
+        return slidingAttacks(spaceIndex, occupied, ROOK_DIRECTIONS);
+    }
+
+    /**
+     * Same as bishopAttacks but found by walking each direction one space at a time
+     */
+    public static long bishopRayAttacks(int spaceIndex, long occupied) {
+        return slidingAttacks(spaceIndex, occupied, BISHOP_DIRECTIONS);
+    }
+
+    /**
+     * Checks the magic tables against walking the rays for every space and every combination of
+     * pieces that can block a rook or bishop on it
+     *
+     * @return Whether every lookup matched
+     */
+    public static boolean verifyMagicTables() {
+        for (int spaceIndex = 0; spaceIndex < BitBoard.NUMBER_OF_SPACES; spaceIndex++) {
+            long occupied = 0L;
+            do {
+                if (rookAttacks(spaceIndex, occupied) != rookRayAttacks(spaceIndex, occupied))
+                    return false;
+                occupied = (occupied - ROOK_MASKS[spaceIndex]) & ROOK_MASKS[spaceIndex];
+            } while (occupied != 0);
+
+            occupied = 0L;
+            do {
+                if (bishopAttacks(spaceIndex, occupied) != bishopRayAttacks(spaceIndex, occupied))
+                    return false;
+                occupied = (occupied - BISHOP_MASKS[spaceIndex]) & BISHOP_MASKS[spaceIndex];
+            } while (occupied != 0);
+        }
+
+        return true;
+    }
+
+    /**
+     * Fills in the table of a space by going through every combination of blockers (with the carry rippler trick)
+     */
+    private static void buildMagicTable(int spaceIndex, int[][] directions, long magic, long[] masks, int[] shifts, long[][] tables) {
+        long mask = relevantOccupancy(spaceIndex, directions);
+        int bits = Long.bitCount(mask);
+        int shift = 64 - bits;
+        long[] table = new long[1 << bits];
+
+        long occupied = 0L;
+        do {
+            int index = (int) ((occupied * magic) >>> shift);
+            long attacks = slidingAttacks(spaceIndex, occupied, directions);
+
+            //two blocker combinations can share an entry only if they have the same attacks (which are never empty)
+            if (table[index] != 0L && table[index] != attacks)
+                throw new IllegalStateException("Magic number for space " + spaceIndex + " does not work");
+
+            table[index] = attacks;
+            occupied = (occupied - mask) & mask;
+        } while (occupied != 0);
+
+        masks[spaceIndex] = mask;
+        shifts[spaceIndex] = shift;
+        tables[spaceIndex] = table;
+    }
+
+    /**
+     * Gets the spaces whose pieces can block a sliding piece. The last space in each direction is left
+     * out since a piece there does not block anything.
+     */
+    private static long relevantOccupancy(int spaceIndex, int[][] directions) {
+        long mask = 0L;
+
+        for (int[] direction : directions) {
+            int toRow = BitBoard.getRow(spaceIndex) + direction[0];
+            int toCol = BitBoard.getCol(spaceIndex) + direction[1];
+
+            while (isOnBoard(toRow + direction[0], toCol + direction[1])) {
+                mask |= 1L << BitBoard.toSpaceIndex(toRow, toCol);
+                toRow += direction[0];
+                toCol += direction[1];
+            }
+        }
+
+        return mask;
+    }
+
+    private static long leaperAttacks(int spaceIndex, int[][] offsets) {
+        int row = BitBoard.getRow(spaceIndex);
+        int col = BitBoard.getCol(spaceIndex);
+
+        long attacks = 0L;
+        for (int[] offset : offsets) {
+            int toRow = row + offset[0];
+            int toCol = col + offset[1];
+
+            if (isOnBoard(toRow, toCol))
+                attacks |= 1L << BitBoard.toSpaceIndex(toRow, toCol);
+        }
+
+        return attacks;
+    }
+
+    private static long slidingAttacks(int spaceIndex, long occupied, int[][] directions) {
+        int row = BitBoard.getRow(spaceIndex);
+        int col = BitBoard.getCol(spaceIndex);
+
+        long attacks = 0L;
+        for (int[] direction : directions) {
+            int toRow = row + direction[0];
+            int toCol = col + direction[1];
+
+            while (isOnBoard(toRow, toCol)) {
+                long bit = 1L << BitBoard.toSpaceIndex(toRow, toCol);
+                attacks |= bit;
+
+                if ((occupied & bit) != 0)
+                    break;
+
+                toRow += direction[0];
+                toCol += direction[1];
+            }
+        }
+
+        return attacks;
+    }
+
+    private static boolean isOnBoard(int row, int col) {
+        return row >= 0 && row < ChessGame.BOARD_SIZE && col >= 0 && col < ChessGame.BOARD_SIZE;
+    }
+}
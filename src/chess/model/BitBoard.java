@@ -0,0 +1,197 @@
+package chess.model;
+
+import chess.model.pieces.ChessPiece;
+
+/**
+ * Holds where every piece is on the board as 64 bit occupancy masks (one bit per space).
+ * There is a mask for each type and color of piece, one for each color and one for the whole board.
+ *
+ * Space indexes go from 0 (row 0, column 0) to 63 (row 7, column 7) so the index of a space is row * 8 + column.
+ */
+public class BitBoard {
+
+    public final static int NUMBER_OF_SPACES = 64;
+
+    private long[] pieceMasks = new long[PieceColor.values().length * PieceType.values().length];
+    private long[] colorMasks = new long[PieceColor.values().length];
+    private long occupied = 0L;
+    private long placementKey = 0L;
+
+    private ChessPiece[] pieces = new ChessPiece[NUMBER_OF_SPACES];
+
+    /**
+     * Gets the index of a space
+     *
+     * @param row
+     * @param col
+     * @return
+     */
+    public static int toSpaceIndex(int row, int col) {
+        return row * ChessGame.BOARD_SIZE + col;
+    }
+
+    public static int toSpaceIndex(Position position) {
+        return position.getIndex();
+    }
+
+    public static int getRow(int spaceIndex) {
+        return spaceIndex >>> 3;
+    }
+
+    public static int getCol(int spaceIndex) {
+        return spaceIndex & 7;
+    }
+
+    private static int maskIndex(PieceColor color, PieceType type) {
+        return color.ordinal() * PieceType.values().length + type.ordinal();
+    }
+
+    public ChessPiece getPiece(int spaceIndex) {
+        return pieces[spaceIndex];
+    }
+
+    /**
+     * Puts a piece on a space (or clears it when the piece is null) and updates all the masks
+     *
+     * @param spaceIndex
+     * @param piece
+     */
+    public void setPiece(int spaceIndex, ChessPiece piece) {
+        long bit = 1L << spaceIndex;
+
+        ChessPiece oldPiece = pieces[spaceIndex];
+        if (oldPiece != null) {
+            pieceMasks[maskIndex(oldPiece.getPieceColor(), oldPiece.getPieceType())] &= ~bit;
+            colorMasks[oldPiece.getPieceColor().ordinal()] &= ~bit;
+            occupied &= ~bit;
+            placementKey ^= Zobrist.pieceKey(oldPiece, spaceIndex);
+        }
+
+        pieces[spaceIndex] = piece;
+        if (piece != null) {
+            pieceMasks[maskIndex(piece.getPieceColor(), piece.getPieceType())] |= bit;
+            colorMasks[piece.getPieceColor().ordinal()] |= bit;
+            occupied |= bit;
+            placementKey ^= Zobrist.pieceKey(piece, spaceIndex);
+        }
+    }
+
+    public boolean isOccupied(int spaceIndex) {
+        return (occupied & (1L << spaceIndex)) != 0;
+    }
+
+    /**
+     * Gets the mask of all spaces that have a piece of the given color and type
+     *
+     * @param color
+     * @param type
+     * @return
+     */
+    public long getPieces(PieceColor color, PieceType type) {
+        return pieceMasks[maskIndex(color, type)];
+    }
+
+    /**
+     * Gets the mask of all spaces that have a piece of the given color
+     *
+     * @param color
+     * @return
+     */
+    public long getOccupancy(PieceColor color) {
+        return colorMasks[color.ordinal()];
+    }
+
+    /**
+     * Gets the mask of all spaces that have a piece
+     *
+     * @return
+     */
+    public long getOccupancy() {
+        return occupied;
+    }
+
+    /**
+     * Works out every space that a piece of the given color attacks
+     *
+     * @param color
+     * @return
+     */
+    public long getAttackedSpaces(PieceColor color) {
+        return getAttackedSpaces(color, occupied);
+    }
+
+    /**
+     * Same as getAttackedSpaces but the sliding pieces are blocked by the given occupancy instead
+     * of the pieces on the board. Used to see through a piece that is about to move.
+     *
+     * @param color
+     * @param occupied
+     * @return
+     */
+    public long getAttackedSpaces(PieceColor color, long occupied) {
+        long attacked = 0L;
+
+        long pieces = getPieces(color, PieceType.PAWN);
+        while (pieces != 0) {
+            attacked |= Attacks.pawnAttacks(color, Long.numberOfTrailingZeros(pieces));
+            pieces &= pieces - 1;
+        }
+
+        pieces = getPieces(color, PieceType.KNIGHT);
+        while (pieces != 0) {
+            attacked |= Attacks.knightAttacks(Long.numberOfTrailingZeros(pieces));
+            pieces &= pieces - 1;
+        }
+
+        pieces = getPieces(color, PieceType.BISHOP) | getPieces(color, PieceType.QUEEN);
+        while (pieces != 0) {
+            attacked |= Attacks.bishopAttacks(Long.numberOfTrailingZeros(pieces), occupied);
+            pieces &= pieces - 1;
+        }
+
+        pieces = getPieces(color, PieceType.ROOK) | getPieces(color, PieceType.QUEEN);
+        while (pieces != 0) {
+            attacked |= Attacks.rookAttacks(Long.numberOfTrailingZeros(pieces), occupied);
+            pieces &= pieces - 1;
+        }
+
+        pieces = getPieces(color, PieceType.KING);
+        while (pieces != 0) {
+            attacked |= Attacks.kingAttacks(Long.numberOfTrailingZeros(pieces));
+            pieces &= pieces - 1;
+        }
+
+        return attacked;
+    }
+
+    /**
+     * Gets the pieces of a color that attack a space. Only pieces on the given occupancy are included
+     * and sliding pieces are blocked by it.
+     *
+     * @param spaceIndex
+     * @param byColor
+     * @param occupied
+     * @return
+     */
+    public long getAttackers(int spaceIndex, PieceColor byColor, long occupied) {
+        PieceColor otherColor = byColor == PieceColor.WHITE ? PieceColor.BLACK : PieceColor.WHITE;
+        long queens = getPieces(byColor, PieceType.QUEEN);
+
+        long attackers = (Attacks.pawnAttacks(otherColor, spaceIndex) & getPieces(byColor, PieceType.PAWN))
+                       | (Attacks.knightAttacks(spaceIndex) & getPieces(byColor, PieceType.KNIGHT))
+                       | (Attacks.kingAttacks(spaceIndex) & getPieces(byColor, PieceType.KING))
+                       | (Attacks.bishopAttacks(spaceIndex, occupied) & (getPieces(byColor, PieceType.BISHOP) | queens))
+                       | (Attacks.rookAttacks(spaceIndex, occupied) & (getPieces(byColor, PieceType.ROOK) | queens));
+
+        return attackers & occupied;
+    }
+
+    /**
+     * Gets the Zobrist key of where all the pieces are. This is updated every time a piece is set.
+     *
+     * @return
+     */
+    public long getPlacementKey() {
+        return placementKey;
+    }
+}
@@ -2,34 +2,48 @@ package chess.model;
 
 import chess.model.pieces.ChessPiece;
 
-
+/**
+ * A single space on the board. This is a view over the game's BitBoard so
+ * setting a piece here keeps the occupancy masks in sync.
+ */
 public class BoardSpace {
 
     private Position position;
-    private ChessPiece piece;
+    private BitBoard bitBoard;
+    private int spaceIndex;
 
-    public BoardSpace(Position position) {
+    public BoardSpace(Position position, BitBoard bitBoard) {
         this.position = position;
+        this.bitBoard = bitBoard;
+        this.spaceIndex = BitBoard.toSpaceIndex(position);
     }
 
     public ChessPiece getPiece() {
-        return piece;
+        return bitBoard.getPiece(spaceIndex);
     }
 
     public void setPiece(ChessPiece piece) {
-        this.piece = piece;
+        bitBoard.setPiece(spaceIndex, piece);
     }
 
     public Position getPosition() {
         return this.position;
     }
 
+    /**
+     * Gets the index of this space on the BitBoard
+     * @return
+     */
+    public int getSpaceIndex() {
+        return spaceIndex;
+    }
+
     /**
      * Checks if this space has a piece on it
      * @return
      */
     public boolean isOccupied() {
-        return this.piece != null;
+        return bitBoard.isOccupied(spaceIndex);
     }
 
     public boolean isEmpty() {
@@ -2,7 +2,10 @@ package chess.model;
 
 import chess.model.pieces.*;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
 
 /**
@@ -11,14 +14,70 @@ import java.util.List;
 public class ChessGame {
     public final static int BOARD_SIZE = 8;
 
+    public final static int ALL_CASTLING_RIGHTS = Zobrist.WHITE_KING_SIDE | Zobrist.WHITE_QUEEN_SIDE
+                                                | Zobrist.BLACK_KING_SIDE | Zobrist.BLACK_QUEEN_SIDE;
+
+    //the castling rights that are kept when a piece moves from or to each space. A king or rook moving off
+    //its starting space or a rook being captured on it loses the rights that need it
+    private final static int[] CASTLING_RIGHTS_KEPT = new int[BitBoard.NUMBER_OF_SPACES];
+
+    static {
+        Arrays.fill(CASTLING_RIGHTS_KEPT, ALL_CASTLING_RIGHTS);
+        CASTLING_RIGHTS_KEPT[BitBoard.toSpaceIndex(7, 4)] &= ~(Zobrist.WHITE_KING_SIDE | Zobrist.WHITE_QUEEN_SIDE);
+        CASTLING_RIGHTS_KEPT[BitBoard.toSpaceIndex(7, 7)] &= ~Zobrist.WHITE_KING_SIDE;
+        CASTLING_RIGHTS_KEPT[BitBoard.toSpaceIndex(7, 0)] &= ~Zobrist.WHITE_QUEEN_SIDE;
+        CASTLING_RIGHTS_KEPT[BitBoard.toSpaceIndex(0, 4)] &= ~(Zobrist.BLACK_KING_SIDE | Zobrist.BLACK_QUEEN_SIDE);
+        CASTLING_RIGHTS_KEPT[BitBoard.toSpaceIndex(0, 7)] &= ~Zobrist.BLACK_KING_SIDE;
+        CASTLING_RIGHTS_KEPT[BitBoard.toSpaceIndex(0, 0)] &= ~Zobrist.BLACK_QUEEN_SIDE;
+    }
+
+    private BitBoard bitBoard = new BitBoard();
     private BoardSpace[][] board = new BoardSpace[BOARD_SIZE][BOARD_SIZE];
     private PieceColor currentTurn = PieceColor.WHITE;
+
+    //the parts of the Zobrist key that are not piece placement (which the BitBoard keeps)
+    private long stateKey = 0L;
+    //a mask of the Zobrist castling bits of the sides that can still castle
+    private int castlingRights = 0;
+    //the space a pawn that just moved 2 spaces can be captured on (the space it passed over) or -1
+    private int enPassantSquare = -1;
     private Position selectedPosition = null;
 
+    //the spaces each color attacks. These only depend on where the pieces are so they are
+    //cached until the piece placement key changes
+    private long[] attackedSpaces = new long[PieceColor.values().length];
+    private long[] attackedSpacesKeys = new long[PieceColor.values().length];
+    private boolean[] attackedSpacesCached = new boolean[PieceColor.values().length];
+
+    //the order hasAnyLegalMove looks through the pieces in, cheapest moves first
+    private final static PieceType[] LEGAL_MOVE_SEARCH_ORDER = {
+            PieceType.KING, PieceType.KNIGHT, PieceType.PAWN, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN
+    };
+
+    private LegalMoveGenerator legalMoveGenerator = new LegalMoveGenerator(this);
+
     private PlayerPieceSet blackPieces = new PlayerPieceSet(PieceColor.BLACK);
     private PlayerPieceSet whitePieces = new PlayerPieceSet(PieceColor.WHITE);
 
-    private List<Move> gameHistory = new ArrayList<>();
+    //the moves made with makeMove, packed into ints (see PackedMove). Move objects are only created for them when asked for
+    private int[] moveHistory = new int[256];
+    private int moveHistorySize = 0;
+    private Deque<UndoRecord> undoStack = new ArrayDeque<>();
+
+    //the position key before every move that has been made (including simulated ones) and the number of moves
+    //made when the last capture or pawn move was made. Positions from before that can never come up again.
+    private long[] positionKeyHistory = new long[256];
+    private int positionKeyHistorySize = 0;
+    private int irreversiblePly = 0;
+
+    //the number of moves since the last capture or pawn move and the move number (which goes up after black moves)
+    private int halfmoveClock = 0;
+    private int fullmoveNumber = 1;
+
+    private PromotionChooser promotionChooser = PromotionChooser.ALWAYS_QUEEN;
+
+    //only created once something asks for it, so games nobody watches never build any events
+    private GameEventPublisher eventPublisher = null;
 
     public ChessGame() {
         createBoard();
@@ -53,6 +112,26 @@ public class ChessGame {
         }
     }
 
+    /**
+     * Sets up a game from a FEN string (see Fen). This places the pieces directly so it does not
+     * depend on how many moves it took to reach the position.
+     *
+     * @param fen
+     * @return
+     */
+    public static ChessGame fromFen(String fen) {
+        return Fen.parse(fen);
+    }
+
+    /**
+     * Gets the current position as a FEN string (see Fen)
+     *
+     * @return
+     */
+    public String toFen() {
+        return Fen.toFen(this);
+    }
+
     /**
      * Initializes the array for all spaces on the board
      */
@@ -60,7 +139,7 @@ public class ChessGame {
         //set up all spaces on the game
         for (int row = 0; row < BOARD_SIZE; row++) {
             for (int col = 0; col < BOARD_SIZE; col++) {
-                board[row][col] = new BoardSpace(new Position(row, col));
+                board[row][col] = new BoardSpace(Position.of(row, col), bitBoard);
             }
         }
     }
@@ -71,31 +150,32 @@ public class ChessGame {
     private void setUpNewGame() {
 
         //add black pieces to the game
-        board[0][0].setPiece(blackPieces.addPiece(Rook.class, board[0][0].getPosition()));
-        board[0][1].setPiece(blackPieces.addPiece(Knight.class, board[0][1].getPosition()));
-        board[0][2].setPiece(blackPieces.addPiece(Bishop.class, board[0][2].getPosition()));
-        board[0][3].setPiece(blackPieces.addPiece(Queen.class, board[0][3].getPosition()));
-        board[0][4].setPiece(blackPieces.addPiece(King.class, board[0][4].getPosition()));
-        board[0][5].setPiece(blackPieces.addPiece(Bishop.class, board[0][5].getPosition()));
-        board[0][6].setPiece(blackPieces.addPiece(Knight.class, board[0][6].getPosition()));
-        board[0][7].setPiece(blackPieces.addPiece(Rook.class, board[0][7].getPosition()));
+        board[0][0].setPiece(blackPieces.addPiece(PieceType.ROOK, board[0][0].getPosition()));
+        board[0][1].setPiece(blackPieces.addPiece(PieceType.KNIGHT, board[0][1].getPosition()));
+        board[0][2].setPiece(blackPieces.addPiece(PieceType.BISHOP, board[0][2].getPosition()));
+        board[0][3].setPiece(blackPieces.addPiece(PieceType.QUEEN, board[0][3].getPosition()));
+        board[0][4].setPiece(blackPieces.addPiece(PieceType.KING, board[0][4].getPosition()));
+        board[0][5].setPiece(blackPieces.addPiece(PieceType.BISHOP, board[0][5].getPosition()));
+        board[0][6].setPiece(blackPieces.addPiece(PieceType.KNIGHT, board[0][6].getPosition()));
+        board[0][7].setPiece(blackPieces.addPiece(PieceType.ROOK, board[0][7].getPosition()));
         for (int col = 0; col < 8; col++) {
-            board[1][col].setPiece(blackPieces.addPiece(Pawn.class, board[1][col].getPosition()));
+            board[1][col].setPiece(blackPieces.addPiece(PieceType.PAWN, board[1][col].getPosition()));
         }
 
         //add white pieces to the game
         for (int col = 0; col < 8; col++) {
-            board[6][col].setPiece(whitePieces.addPiece(Pawn.class, board[6][col].getPosition()));
+            board[6][col].setPiece(whitePieces.addPiece(PieceType.PAWN, board[6][col].getPosition()));
         }
-        board[7][0].setPiece(whitePieces.addPiece(Rook.class, board[7][0].getPosition()));
-        board[7][1].setPiece(whitePieces.addPiece(Knight.class, board[7][1].getPosition()));
-        board[7][2].setPiece(whitePieces.addPiece(Bishop.class, board[7][2].getPosition()));
-        board[7][3].setPiece(whitePieces.addPiece(Queen.class, board[7][3].getPosition()));
-        board[7][4].setPiece(whitePieces.addPiece(King.class, board[7][4].getPosition()));
-        board[7][5].setPiece(whitePieces.addPiece(Bishop.class, board[7][5].getPosition()));
-        board[7][6].setPiece(whitePieces.addPiece(Knight.class, board[7][6].getPosition()));
-        board[7][7].setPiece(whitePieces.addPiece(Rook.class, board[7][7].getPosition()));
-
+        board[7][0].setPiece(whitePieces.addPiece(PieceType.ROOK, board[7][0].getPosition()));
+        board[7][1].setPiece(whitePieces.addPiece(PieceType.KNIGHT, board[7][1].getPosition()));
+        board[7][2].setPiece(whitePieces.addPiece(PieceType.BISHOP, board[7][2].getPosition()));
+        board[7][3].setPiece(whitePieces.addPiece(PieceType.QUEEN, board[7][3].getPosition()));
+        board[7][4].setPiece(whitePieces.addPiece(PieceType.KING, board[7][4].getPosition()));
+        board[7][5].setPiece(whitePieces.addPiece(PieceType.BISHOP, board[7][5].getPosition()));
+        board[7][6].setPiece(whitePieces.addPiece(PieceType.KNIGHT, board[7][6].getPosition()));
+        board[7][7].setPiece(whitePieces.addPiece(PieceType.ROOK, board[7][7].getPosition()));
+
+        setCastlingRights(ALL_CASTLING_RIGHTS);
     }
 
     /**
@@ -132,11 +212,64 @@ public class ChessGame {
         return currentTurn;
     }
 
+    /**
+     * Gets the publisher of the events of the moves made with makeMove (see GameEvent). Simulated moves
+     * and moves taken back are not published.
+     *
+     * @return
+     */
+    public GameEventPublisher getEventPublisher() {
+        if (eventPublisher == null)
+            eventPublisher = new GameEventPublisher();
+
+        return eventPublisher;
+    }
+
+    /**
+     * Sets the publisher of the events of the moves made with makeMove, such as one with its own executor
+     * or buffer size
+     *
+     * @param eventPublisher
+     */
+    public void setEventPublisher(GameEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    public PromotionChooser getPromotionChooser() {
+        return promotionChooser;
+    }
+
+    /**
+     * Sets what decides the piece a pawn is promoted into when a move is made without saying. By default
+     * pawns are promoted into queens.
+     *
+     * @param promotionChooser
+     */
+    public void setPromotionChooser(PromotionChooser promotionChooser) {
+        this.promotionChooser = promotionChooser;
+    }
+
     /**
      * Changes which player's turn it is
      */
     public void changeTurns() {
+        stateKey ^= Zobrist.sideToMoveKey(currentTurn);
         currentTurn = getCurrentTurn() == PieceColor.BLACK ? PieceColor.WHITE : PieceColor.BLACK;
+        stateKey ^= Zobrist.sideToMoveKey(currentTurn);
+    }
+
+    /**
+     * Gets the Zobrist key of the current position. It covers where every piece is, whose turn it is,
+     * which kings and rooks are still eligible to castle and which pawn can be captured En Passant.
+     * The key is kept up to date by every move so getting it is O(1).
+     *
+     * A pawn that moved 2 spaces only changes the key when there is a pawn next to it that could capture it,
+     * otherwise the position is the same as if it had moved there one space at a time and repeats with it.
+     *
+     * @return
+     */
+    public long getPositionKey() {
+        return bitBoard.getPlacementKey() ^ stateKey ^ Zobrist.enPassantKey(getEnPassantCol());
     }
 
     /**
@@ -147,84 +280,94 @@ public class ChessGame {
      */
     public BoardSpace getBoardSpace(Position position) {
 
-        int row = position.getRow();
-        int column = position.getCol();
-
-        if (row < 0 || row > 7 || column < 0 || column > 7)
+        //positions off the board are null
+        if (position == null)
             return null;
 
-        return board[row][column];
+        return board[position.getRow()][position.getCol()];
     }
 
     /**
-     * Switches the position of a piece in the board
+     * Switches the position of a piece in the board. A pawn reaching the end of the board is promoted into
+     * the piece chosen by the promotion chooser.
      *
      * @param from The starting position
      * @param to The ending position
      * @return Whether the move was successfully completed
      */
     public boolean makeMove(Position from, Position to) {
+        return makeMove(from, to, null, true);
+    }
 
-        //get piece being moved
-        ChessPiece piece = getBoardSpace(from).getPiece();
-
-        Move currentMove = new Move(piece, from, to);
-        gameHistory.add(currentMove); //keep this at the start. trust me.
-
-        if (isEnPassant(piece, from, to)) { //must be done before setting all pawns to no longer be eligible. See method documentation for details.
-            int direction = piece.getPieceColor() == PieceColor.BLACK ? -1 : 1;
-            BoardSpace captureSpace = getBoardSpace(new Position(to.getRow() + direction, to.getCol()));
-            currentMove.setAsCaptureMove(captureSpace.getPiece(), captureSpace.getPosition());
-            capture(captureSpace.getPosition());
-        }
-        setAllPawnToNotEligibleForEnPassant(); //must be called before the moveTo method. See method documentation for details
-        if (isCapture(to)) {
-            currentMove.setAsCaptureMove(getBoardSpace(to).getPiece(), to);
-            capture(to);
-        }
-
-        //move the piece
-        getBoardSpace(from).setPiece(null);
-        getBoardSpace(to).setPiece(piece);
-        piece.moveTo(to);
+    /**
+     * Switches the position of a piece in the board. A pawn reaching the end of the board is promoted into
+     * the given type of piece instead of asking the promotion chooser.
+     *
+     * @param from The starting position
+     * @param to The ending position
+     * @param promotionType The type of piece a pawn reaching the end of the board turns into
+     * @return Whether the move was successfully completed
+     */
+    public boolean makeMove(Position from, Position to, PieceType promotionType) {
+        ChessPiece promotedPiece = null;
+        if (promotionType != null)
+            promotedPiece = PieceFactory.create(promotionType, getBoardSpace(from).getPiece().getPieceColor());
 
-          //check if castling, if yes move rook
-        if (isKingSideCastling(getBoardSpace(to).getPiece(), from, to)) {
-            Rook rookToMove = (Rook) getBoardSpace(new Position(to.getRow(), to.getCol() + 1)).getPiece();
+        return makeMove(from, to, promotedPiece, promotedPiece == null);
+    }
 
-            getBoardSpace(new Position(to.getRow(), to.getCol() + 1)).setPiece(null);
-            getBoardSpace(new Position(to.getRow(), to.getCol() - 1)).setPiece(rookToMove);
-            rookToMove.moveTo(new Position(to.getRow(), to.getCol() - 1));
+    /**
+     * Makes a packed move (see PackedMove) such as one from generateLegalMoves and adds it to the move history.
+     * A pawn reaching the end of the board is promoted into the piece in the move without asking.
+     *
+     * @param move
+     * @return Whether the move was successfully completed
+     */
+    public boolean makeMove(int move) {
+        ChessPiece promotedPiece = null;
+        if (PackedMove.isPromotion(move))
+            promotedPiece = PieceFactory.create(PackedMove.getPromotionType(move), PackedMove.getPieceColor(move));
 
-            currentMove.setAsKingSideCastle();
-        }
-        else if (isQueenSideCastling(getBoardSpace(to).getPiece(), from, to)) {
-            Rook rookToMove = (Rook) getBoardSpace(new Position(to.getRow(), to.getCol() - 1)).getPiece();
+        return makeMove(Position.of(PackedMove.getFrom(move)), Position.of(PackedMove.getTo(move)), promotedPiece, false);
+    }
 
-            getBoardSpace(new Position(to.getRow(), to.getCol() - 1)).setPiece(null);
-            getBoardSpace(new Position(to.getRow(), to.getCol() + 1)).setPiece(rookToMove);
-            rookToMove.moveTo(new Position(to.getRow(), to.getCol() + 1));
+    private boolean makeMove(Position from, Position to, ChessPiece promotedPiece, boolean askForPromotion) {
 
-            currentMove.setAsQueenSideCastle();
-        }
+        //get piece being moved
+        ChessPiece piece = getBoardSpace(from).getPiece();
 
-        //check if pawn gets promoted
-        if (piece.getClass() == Pawn.class && ((Pawn)piece).deservesPromotion()){
-            PlayerPieceSet pieceSet = piece.getPieceColor() == PieceColor.BLACK ? blackPieces : whitePieces;
-            ChessPiece promotedPiece = ((Pawn)piece).promote();
-            capture(piece);
-            pieceSet.addPiece(promotedPiece);
-            this.getBoardSpace(to).setPiece(promotedPiece);
-            currentMove.setAsPawnPromotion(promotedPiece);
+        UndoRecord record = applyMove(from, to, promotedPiece, askForPromotion);
+        int flags = 0;
+
+        if (record.capturedPiece != null && record.capturePosition != to)
+            flags |= PackedMove.EN_PASSANT;
+
+        if (record.castledRook != null)
+            flags |= record.rookFrom.getCol() > to.getCol() ? PackedMove.KING_SIDE_CASTLE : PackedMove.QUEEN_SIDE_CASTLE;
+
+        switch (getGameStatus(getOpposingColor(piece.getPieceColor()))) {
+            case CHECKMATE:
+                flags |= PackedMove.CHECKMATE;
+                break;
+            case STALEMATE:
+                flags |= PackedMove.STALEMATE;
+                break;
+            case CHECK:
+                flags |= PackedMove.CHECK;
+                break;
         }
 
-        if (isCheckmate())
-            currentMove.setAsCheckmate();
-        else if (isCheck())
-            currentMove.setAsCheck();
+        addToMoveHistory(PackedMove.encode(from.getIndex(), to.getIndex(), piece.getPieceType(), piece.getPieceColor(),
+                record.capturedPiece == null ? null : record.capturedPiece.getPieceType(),
+                record.promotedPiece == null ? null : record.promotedPiece.getPieceType(),
+                flags));
+        record.addedToMoveHistory = true;
 
         changeTurns();
 
+        if (eventPublisher != null && eventPublisher.hasSubscribers())
+            eventPublisher.publishMove(moveHistory[moveHistorySize - 1], moveHistorySize, getGameStatus());
+
         return true;
 
     }
@@ -236,53 +379,44 @@ public class ChessGame {
      * @return Whether the move was successfully completed
      */
     public boolean simulateMove(Move move) {
+        return simulateMove(move.getStartPosition(), move.getEndPosition(), move.getPromotedPiece());
+    }
 
-        Position from = move.getStartPosition();
-        Position to = move.getEndPosition();
-
-        //get piece being moved
-        ChessPiece piece = getBoardSpace(from).getPiece();
+    /**
+     * Simulates a move being made. Pawns reaching the end of the board are not promoted.
+     *
+     * @param from The position being moved from
+     * @param to The position being moved to
+     * @return Whether the move was successfully completed
+     */
+    public boolean simulateMove(Position from, Position to) {
 
-        if (isEnPassant(piece, from, to)) { //must be done before setting all pawns to no longer be eligible. See method documentation for details.
-            int direction = piece.getPieceColor() == PieceColor.BLACK ? -1 : 1;
-            BoardSpace captureSpace = getBoardSpace(new Position(to.getRow() + direction, to.getCol()));
-            capture(captureSpace.getPosition());
+        if (getBoardSpace(from).getPiece() == null) {
+            return false;
         }
-        setAllPawnToNotEligibleForEnPassant(); //must be called before the moveTo method. See method documentation for details
-        if (isCapture(to))
-            capture(to);
 
-        //move the piece
-        getBoardSpace(from).setPiece(null);
-        getBoardSpace(to).setPiece(piece);
-        piece.moveTo(to);
-
-        //check if castling, if yes move rook
-        if (move.isKingSideCastle()) {
-            Rook rookToMove = (Rook) getBoardSpace(new Position(to.getRow(), to.getCol() + 1)).getPiece();
+        applyMove(from, to, null, false);
+        changeTurns();
 
-            getBoardSpace(new Position(to.getRow(), to.getCol() + 1)).setPiece(null);
-            getBoardSpace(new Position(to.getRow(), to.getCol() - 1)).setPiece(rookToMove);
-            rookToMove.moveTo(new Position(to.getRow(), to.getCol() - 1));
-        }
-        else if (move.isQueenSideCastle()) {
-            Rook rookToMove = (Rook) getBoardSpace(new Position(to.getRow(), to.getCol() - 1)).getPiece();
+        return true;
 
-            getBoardSpace(new Position(to.getRow(), to.getCol() - 1)).setPiece(null);
-            getBoardSpace(new Position(to.getRow(), to.getCol() + 1)).setPiece(rookToMove);
-            rookToMove.moveTo(new Position(to.getRow(), to.getCol() + 1));
-        }
+    }
 
+    /**
+     * Simulates a move being made. A pawn reaching the end of the board is promoted into the given piece.
+     *
+     * @param from The position being moved from
+     * @param to The position being moved to
+     * @param promotedPiece The piece a pawn reaching the end of the board turns into, or null to not promote it
+     * @return Whether the move was successfully completed
+     */
+    public boolean simulateMove(Position from, Position to, ChessPiece promotedPiece) {
 
-        //check if pawn gets promoted
-        if (piece.getClass() == Pawn.class && ((Pawn)piece).deservesPromotion()){
-            PlayerPieceSet pieceSet = piece.getPieceColor() == PieceColor.BLACK ? blackPieces : whitePieces;
-            ChessPiece promotedPiece = move.getPromotedPiece();
-            capture(piece);
-            pieceSet.addPiece(promotedPiece);
-            this.getBoardSpace(to).setPiece(promotedPiece);
+        if (getBoardSpace(from).getPiece() == null) {
+            return false;
         }
 
+        applyMove(from, to, promotedPiece, false);
         changeTurns();
 
         return true;
@@ -290,64 +424,291 @@ public class ChessGame {
     }
 
     /**
-     * Simulates a move being made
+     * Simulates a packed move (see PackedMove) such as one from generateLegalMoves
      *
-     * @param from The position being moved from
-     * @param to The position being moved to
+     * @param move
      * @return Whether the move was successfully completed
      */
-    public boolean simulateMove(Position from, Position to) {
+    public boolean simulateMove(int move) {
+        ChessPiece promotedPiece = null;
+        if (PackedMove.isPromotion(move))
+            promotedPiece = PieceFactory.create(PackedMove.getPromotionType(move), PackedMove.getPieceColor(move));
 
-        //get piece being moved
-        ChessPiece piece = getBoardSpace(from).getPiece();
+        return simulateMove(Position.of(PackedMove.getFrom(move)), Position.of(PackedMove.getTo(move)), promotedPiece);
+    }
 
-        if (piece == null) {
+    /**
+     * Reverts the last move made by makeMove or simulateMove, restoring the captured piece,
+     * En Passant eligibility, hasMoved flags, castling rook and promoted pawn from its undo record.
+     * The cost of this does not depend on how long the game has been going on for.
+     *
+     * @return Whether there was a move to revert
+     */
+    public boolean unmakeMove() {
+        if (undoStack.isEmpty())
             return false;
+
+        UndoRecord record = undoStack.pop();
+
+        //revert the turn first since makeMove and simulateMove change it last
+        currentTurn = record.previousTurn;
+        stateKey = record.previousStateKey;
+        castlingRights = record.previousCastlingRights;
+        enPassantSquare = record.previousEnPassantSquare;
+        irreversiblePly = record.previousIrreversiblePly;
+        halfmoveClock = record.previousHalfmoveClock;
+        fullmoveNumber = record.previousFullmoveNumber;
+        positionKeyHistorySize--;
+
+        if (record.addedToMoveHistory)
+            moveHistorySize--;
+
+        //take back the promotion
+        if (record.promotedPiece != null) {
+            getPieceSet(record.piece.getPieceColor()).removePiece(record.promotedPiece);
+            restoreToPieceSet(record.piece, record.pawnIndex);
+        }
+
+        //put the castling rook back
+        if (record.castledRook != null) {
+            getBoardSpace(record.rookTo).setPiece(null);
+            getBoardSpace(record.rookFrom).setPiece(record.castledRook);
+            moveInPieceSet(record.castledRook, record.rookTo, record.rookFrom);
+            record.castledRook.setPosition(record.rookFrom);
+            record.castledRook.setHasMoved(record.rookHadMoved);
         }
 
-        if (isEnPassant(piece, from, to)) { //must be done before setting all pawns to no longer be eligible. See method documentation for details.
-            int direction = piece.getPieceColor() == PieceColor.BLACK ? -1 : 1;
-            BoardSpace captureSpace = getBoardSpace(new Position(to.getRow() + direction, to.getCol()));
-            capture(captureSpace.getPosition());
+        //move the piece back
+        getBoardSpace(record.to).setPiece(null);
+        getBoardSpace(record.from).setPiece(record.piece);
+        moveInPieceSet(record.piece, record.to, record.from);
+        record.piece.setPosition(record.from);
+        record.piece.setHasMoved(record.pieceHadMoved);
+
+        //put the captured piece back
+        if (record.capturedPiece != null) {
+            getBoardSpace(record.capturePosition).setPiece(record.capturedPiece);
+            restoreToPieceSet(record.capturedPiece, record.capturedIndex);
         }
-        setAllPawnToNotEligibleForEnPassant(); //must be called before the moveTo method. See method documentation for details
-        if (isCapture(to))
-            capture(to);
+
+        return true;
+    }
+
+    /**
+     * Moves a piece on the board (including the captured piece, castling rook and promotion) and
+     * pushes an undo record so that the move can be reverted by unmakeMove. This does not change turns.
+     *
+     * @param from The position being moved from
+     * @param to The position being moved to
+     * @param promotedPiece The piece a pawn reaching the end of the board turns into, or null
+     * @param askForPromotion Whether to ask the promotion chooser what to promote into when promotedPiece is null
+     * @return The undo record for the move
+     */
+    private UndoRecord applyMove(Position from, Position to, ChessPiece promotedPiece, boolean askForPromotion) {
+
+        //get piece being moved
+        ChessPiece piece = getBoardSpace(from).getPiece();
+
+        UndoRecord record = new UndoRecord(piece, from, to, currentTurn);
+        record.previousStateKey = stateKey;
+        record.previousCastlingRights = castlingRights;
+        record.previousEnPassantSquare = enPassantSquare;
+        record.previousIrreversiblePly = irreversiblePly;
+        record.previousHalfmoveClock = halfmoveClock;
+        record.previousFullmoveNumber = fullmoveNumber;
+        undoStack.push(record);
+        pushPositionKey(getPositionKey());
+
+        //the pawn captured by an En Passant is next to the capturing pawn, not on the space it moves to
+        if (isEnPassant(piece, from, to))
+            recordCapture(record, getBoardSpace(Position.of(from.getRow(), to.getCol())));
+        else if (isCapture(to))
+            recordCapture(record, getBoardSpace(to));
 
         //move the piece
         getBoardSpace(from).setPiece(null);
         getBoardSpace(to).setPiece(piece);
+        moveInPieceSet(piece, from, to);
         piece.moveTo(to);
 
         //check if castling, if yes move rook
-        if (isKingSideCastling(getBoardSpace(to).getPiece(), from, to)) {
-            Rook rookToMove = (Rook) getBoardSpace(new Position(to.getRow(), to.getCol() + 1)).getPiece();
+        if (isKingSideCastling(piece, from, to)) {
+            moveCastlingRook(record, Position.of(to.getRow(), to.getCol() + 1), Position.of(to.getRow(), to.getCol() - 1));
+        }
+        else if (isQueenSideCastling(piece, from, to)) {
+            moveCastlingRook(record, Position.of(to.getRow(), to.getCol() - 2), Position.of(to.getRow(), to.getCol() + 1));
+        }
 
-            getBoardSpace(new Position(to.getRow(), to.getCol() + 1)).setPiece(null);
-            getBoardSpace(new Position(to.getRow(), to.getCol() - 1)).setPiece(rookToMove);
-            rookToMove.moveTo(new Position(to.getRow(), to.getCol() - 1));
+        //check if pawn gets promoted
+        if (piece.getClass() == Pawn.class && ((Pawn) piece).deservesPromotion()) {
+            if (promotedPiece == null && askForPromotion)
+                promotedPiece = PieceFactory.create(promotionChooser.choosePromotion(piece.getPieceColor()), piece.getPieceColor());
+
+            if (promotedPiece != null) {
+                PlayerPieceSet pieceSet = getPieceSet(piece.getPieceColor());
+                record.pawnIndex = pieceSet.indexOfAlivePiece(piece);
+                record.promotedPiece = promotedPiece;
+                promotedPiece.setPosition(to);
+                capture(piece);
+                pieceSet.addPiece(promotedPiece);
+                this.getBoardSpace(to).setPiece(promotedPiece);
+            }
         }
-        else if (isQueenSideCastling(getBoardSpace(to).getPiece(), from, to)) {
-            Rook rookToMove = (Rook) getBoardSpace(new Position(to.getRow(), to.getCol() - 1)).getPiece();
 
-            getBoardSpace(new Position(to.getRow(), to.getCol() - 1)).setPiece(null);
-            getBoardSpace(new Position(to.getRow(), to.getCol() + 1)).setPiece(rookToMove);
-            rookToMove.moveTo(new Position(to.getRow(), to.getCol() + 1));
+        //update the parts of the position key that the board does not keep
+        boolean isDoublePawnPush = piece instanceof Pawn && Math.abs(from.getRow() - to.getRow()) == 2;
+        setEnPassantSquare(isDoublePawnPush ? (from.getIndex() + to.getIndex()) / 2 : -1);
+        setCastlingRights(castlingRights & CASTLING_RIGHTS_KEPT[from.getIndex()] & CASTLING_RIGHTS_KEPT[to.getIndex()]);
+
+        //no position from before a capture or pawn move can be repeated
+        if (piece instanceof Pawn || record.capturedPiece != null) {
+            irreversiblePly = positionKeyHistorySize;
+            halfmoveClock = 0;
+        }
+        else {
+            halfmoveClock++;
         }
 
-        //we dont care about pawn promotion?
+        if (piece.getPieceColor() == PieceColor.BLACK)
+            fullmoveNumber++;
 
-        changeTurns();
+        return record;
+    }
 
-        return true;
+    /**
+     * Sets which sides can still castle and updates the position key
+     *
+     * @param rights A mask of Zobrist.WHITE_KING_SIDE, WHITE_QUEEN_SIDE, BLACK_KING_SIDE and BLACK_QUEEN_SIDE
+     */
+    void setCastlingRights(int rights) {
+        stateKey ^= Zobrist.castlingKey(castlingRights) ^ Zobrist.castlingKey(rights);
+        castlingRights = rights;
+    }
+
+    /**
+     * Gets the number of moves made since the last capture or pawn move
+     *
+     * @return
+     */
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    void setHalfmoveClock(int halfmoveClock) {
+        this.halfmoveClock = halfmoveClock;
+    }
+
+    /**
+     * Gets the move number, which starts at 1 and goes up after black moves
+     *
+     * @return
+     */
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    void setFullmoveNumber(int fullmoveNumber) {
+        this.fullmoveNumber = fullmoveNumber;
+    }
 
+    /**
+     * Gets which sides can still castle
+     *
+     * @return A mask of Zobrist.WHITE_KING_SIDE, WHITE_QUEEN_SIDE, BLACK_KING_SIDE and BLACK_QUEEN_SIDE
+     */
+    public int getCastlingRights() {
+        return castlingRights;
     }
 
+    /**
+     * Checks if a color has not lost the right to castle on the king side by moving its king or king side rook
+     * (or having that rook captured). This does not check if castling is possible right now.
+     *
+     * @param color
+     * @return
+     */
+    public boolean hasKingSideCastlingRight(PieceColor color) {
+        return (castlingRights & (color == PieceColor.WHITE ? Zobrist.WHITE_KING_SIDE : Zobrist.BLACK_KING_SIDE)) != 0;
+    }
+
+    /**
+     * Same as hasKingSideCastlingRight but for the queen side
+     *
+     * @param color
+     * @return
+     */
+    public boolean hasQueenSideCastlingRight(PieceColor color) {
+        return (castlingRights & (color == PieceColor.WHITE ? Zobrist.WHITE_QUEEN_SIDE : Zobrist.BLACK_QUEEN_SIDE)) != 0;
+    }
+
+    /**
+     * Sets the space a pawn can be captured on with an En Passant
+     *
+     * @param square The space index or -1 if no pawn can be captured with an En Passant
+     */
+    void setEnPassantSquare(int square) {
+        enPassantSquare = square;
+    }
+
+    /**
+     * Takes the piece on a space off of the board and remembers where it was in its piece set
+     */
+    private void recordCapture(UndoRecord record, BoardSpace captureSpace) {
+        ChessPiece pieceToCapture = captureSpace.getPiece();
+        PlayerPieceSet pieceSet = getPieceSet(pieceToCapture.getPieceColor());
+
+        record.capturedPiece = pieceToCapture;
+        record.capturePosition = captureSpace.getPosition();
+        record.capturedIndex = pieceSet.indexOfAlivePiece(pieceToCapture);
+
+        //pieces placed directly on the board are not part of a piece set
+        if (record.capturedIndex >= 0)
+            pieceSet.capture(pieceToCapture);
+
+        captureSpace.setPiece(null);
+    }
+
+    private void moveCastlingRook(UndoRecord record, Position rookFrom, Position rookTo) {
+        ChessPiece rookToMove = getBoardSpace(rookFrom).getPiece();
+
+        //the king is only being tested on the space it would castle to
+        if (rookToMove == null)
+            return;
+
+        record.castledRook = rookToMove;
+        record.rookFrom = rookFrom;
+        record.rookTo = rookTo;
+        record.rookHadMoved = rookToMove.hasMoved();
+
+        getBoardSpace(rookFrom).setPiece(null);
+        getBoardSpace(rookTo).setPiece(rookToMove);
+        moveInPieceSet(rookToMove, rookFrom, rookTo);
+        rookToMove.moveTo(rookTo);
+    }
+
+    /**
+     * Puts a piece back into its piece set if it came from one
+     */
+    private void restoreToPieceSet(ChessPiece piece, int index) {
+        if (index >= 0)
+            getPieceSet(piece.getPieceColor()).restore(piece, index);
+    }
+
+    /**
+     * Keeps the space index of a piece set up to date when one of its pieces moves.
+     * Pieces placed directly on the board are not part of a piece set.
+     */
+    private void moveInPieceSet(ChessPiece piece, Position from, Position to) {
+        PlayerPieceSet pieceSet = getPieceSet(piece.getPieceColor());
+        if (pieceSet.getPieceAtPosition(from) == piece)
+            pieceSet.movePiece(from, to);
+    }
+
+    private PlayerPieceSet getPieceSet(PieceColor color) {
+        return color == PieceColor.BLACK ? blackPieces : whitePieces;
+    }
     public boolean isCapture(Position position) {
-        if (getBoardSpace(position).isOccupied())
-            return true;
-        else
-            return false;
+        return bitBoard.isOccupied(BitBoard.toSpaceIndex(position));
     }
 
     public void capture(Position position) {
@@ -363,10 +724,8 @@ public class ChessGame {
     }
 
     /**
-     * Checks if a move is performing an En Passant.
-     *
-     * NOTE: This must be done before all pawns that are eligible for En Passant are reset to be ineligible.
-     *       This is for the obvious reason that if it first resets it, the pawn will never be able to do an en passant.
+     * Checks if a move is performing an En Passant, which is a pawn moving onto the space
+     * the opposing pawn that just moved 2 spaces passed over
      *
      * @param piece
      * @param from
@@ -374,30 +733,7 @@ public class ChessGame {
      * @return
      */
     private boolean isEnPassant(ChessPiece piece, Position from, Position to) {
-
-        if (!(piece instanceof Pawn)) { //piece being moved is not a pawn
-            return false;
-        }
-        else if (from.getCol() == to.getCol()) { //is pawn but not a capture move (pawns only move diagonal when capturing)
-            return false;
-        }
-
-        //get piece in space above the one being moved to
-        //if it is a pawn that is eligible for en passant return true
-        int direction = piece.getPieceColor() == PieceColor.BLACK ? -1 : 1;
-        Position potentialCapturePosition = new Position(to.getRow() + direction, to.getCol());
-        BoardSpace potentialCaptureSpace = getBoardSpace(potentialCapturePosition);
-        ChessPiece potentialCapturePiece = potentialCaptureSpace.getPiece();
-
-        if (!(potentialCapturePiece instanceof Pawn)) {  //the piece is not a pawn
-            return false;
-        }
-        else if (((Pawn) potentialCapturePiece).isEligibleForEnPassant()) {
-            return true;
-        }
-        else {
-            return false;
-        }
+        return piece instanceof Pawn && to.getIndex() == enPassantSquare && from.getCol() != to.getCol();
     }
 
     private boolean isKingSideCastling(ChessPiece piece, Position from, Position to) {
@@ -405,24 +741,7 @@ public class ChessGame {
     }
 
     private boolean isQueenSideCastling(ChessPiece piece, Position from, Position to) {
-        return piece.getClass() == King.class && to.getCol() == from.getCol() - 3;
-    }
-
-    /**
-     * Set all pawns which are eligible for En Passant to no longer be eligible
-     *
-     * NOTE: This must be done before the piece is moved, otherwise if it is a pawn moving 2 spaces it will become ineligible
-     */
-    public void setAllPawnToNotEligibleForEnPassant() {
-        for (int row = 0; row < board.length; row++) {
-            for (int col = 0; col < board[0].length; col++) {
-                ChessPiece piece = getBoardSpace(new Position(row, col)).getPiece();
-
-                if (piece instanceof Pawn && ((Pawn) piece).isEligibleForEnPassant())
-                    ((Pawn) piece).setEligibleForEnPassant(false);
-
-            }
-        }
+        return piece.getClass() == King.class && to.getCol() == from.getCol() - 2;
     }
 
     /**
@@ -434,40 +753,101 @@ public class ChessGame {
     }
 
     public boolean isWhiteCheckmated() {
+        return isCheckmated(PieceColor.WHITE);
+    }
+
+    public boolean isBlackCheckmated() {
+        return isCheckmated(PieceColor.BLACK);
+    }
+
+    private boolean isCheckmated(PieceColor color) {
 
         /*
          *  To determine if a color is in checkmate you just need to check if all of that colors pieces
           *  are unable to move since a piece can not legally make a move that will keep its king in check
           *  (if it did that would result in the king being captured next turn)
          */
-        if (isWhiteInCheck()) {
-            for (ChessPiece piece : whitePieces.getAllAlivePieces()) {
-                if (piece.getLegalMoves(this, true).size() > 0) {
-                    return false;
-                }
+        return isInCheck(color) && !hasAnyLegalMove(color);
+    }
+
+    /**
+     * Checks if a color can make at least one legal move. This stops at the first legal move found and
+     * looks at the king and knights first since their moves are the cheapest to work out.
+     *
+     * Castling is not looked at since a king that can castle can always also move one space towards the rook.
+     *
+     * @param color
+     * @return
+     */
+    public boolean hasAnyLegalMove(PieceColor color) {
+        for (PieceType pieceType : LEGAL_MOVE_SEARCH_ORDER) {
+            long pieces = bitBoard.getPieces(color, pieceType);
+            while (pieces != 0) {
+                if (legalMoveGenerator.getLegalMoves(Long.numberOfTrailingZeros(pieces)) != 0)
+                    return true;
+                pieces &= pieces - 1;
             }
         }
-        else {
-            return false;
-        }
 
-        return true;
+        return false;
     }
 
-    public boolean isBlackCheckmated() {
+    /**
+     * Gets whether the player whose turn it is is in check, checkmate or stalemate
+     *
+     * @return
+     */
+    public GameStatus getGameStatus() {
+        GameStatus status = getGameStatus(currentTurn);
 
-        if (isBlackInCheck()) {
-            for (ChessPiece piece : blackPieces.getAllAlivePieces()) {
-                if (piece.getLegalMoves(this, true).size() > 0) {
-                    return false;
-                }
-            }
-        }
-        else {
-            return false;
+        if (!status.isGameOver() && isThreefoldRepetition())
+            return GameStatus.THREEFOLD_REPETITION;
+
+        return status;
+    }
+
+    /**
+     * Checks if the current position has come up at least 3 times with the same player to move,
+     * castling rights and En Passant square, which makes the game a draw
+     *
+     * @return
+     */
+    public boolean isThreefoldRepetition() {
+        return getRepetitionCount() >= 3;
+    }
+
+    /**
+     * Counts how many times the current position has come up, including now. Only the positions since the last
+     * capture or pawn move are compared, and only every second one since the other player was to move in the rest.
+     *
+     * @return
+     */
+    public int getRepetitionCount() {
+        long positionKey = getPositionKey();
+        int count = 1;
+
+        for (int ply = positionKeyHistorySize - 2; ply >= irreversiblePly; ply -= 2) {
+            if (positionKeyHistory[ply] == positionKey)
+                count++;
         }
 
-        return true;
+        return count;
+    }
+
+    private void pushPositionKey(long positionKey) {
+        if (positionKeyHistorySize == positionKeyHistory.length)
+            positionKeyHistory = Arrays.copyOf(positionKeyHistory, positionKeyHistory.length * 2);
+
+        positionKeyHistory[positionKeyHistorySize++] = positionKey;
+    }
+
+    private GameStatus getGameStatus(PieceColor color) {
+        boolean inCheck = isInCheck(color);
+
+        if (hasAnyLegalMove(color))
+            return inCheck ? GameStatus.CHECK : GameStatus.IN_PROGRESS;
+        else
+            return inCheck ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
     }
 
 
@@ -480,66 +860,235 @@ public class ChessGame {
     }
 
     public boolean isWhiteInCheck() {
-        //go through each piece and see if one of its legal moves is the position of one of the kings
+        return isInCheck(PieceColor.WHITE);
+    }
 
-        Position whiteKingPosition = whitePieces.getAlivePiecesOfType(King.class).get(0).getPosition();
+    public boolean isBlackInCheck() {
+        return isInCheck(PieceColor.BLACK);
+    }
 
-        //look for white in check
-        for (ChessPiece piece : blackPieces.getAllAlivePieces()) {
-            if (piece.getClass() != King.class) {
-                for (Position position : piece.getLegalMoves(this, false)) {
-                    if (position.equals(whiteKingPosition))
-                        return true;
-                }
-            }
+    /**
+     * Checks if the king of a color is in check
+     *
+     * @param color
+     * @return
+     */
+    public boolean isInCheck(PieceColor color) {
+        long king = bitBoard.getPieces(color, PieceType.KING);
+        return (king & getAttackedSpaces(getOpposingColor(color))) != 0;
+    }
+
+    /**
+     * Checks if a piece of the given color could capture on a space. The attacked spaces are
+     * worked out once per position so this is a single lookup after the first call.
+     *
+     * @param position
+     * @param byColor
+     * @return
+     */
+    public boolean isSpaceAttacked(Position position, PieceColor byColor) {
+        return isSpaceAttacked(BitBoard.toSpaceIndex(position), byColor);
+    }
+
+    public boolean isSpaceAttacked(int spaceIndex, PieceColor byColor) {
+        return (getAttackedSpaces(byColor) & (1L << spaceIndex)) != 0;
+    }
+
+    /**
+     * Gets the mask of all the spaces a color attacks in the current position
+     *
+     * @param color
+     * @return
+     */
+    public long getAttackedSpaces(PieceColor color) {
+        int colorIndex = color.ordinal();
+        long placementKey = bitBoard.getPlacementKey();
+
+        if (!attackedSpacesCached[colorIndex] || attackedSpacesKeys[colorIndex] != placementKey) {
+            attackedSpaces[colorIndex] = bitBoard.getAttackedSpaces(color);
+            attackedSpacesKeys[colorIndex] = placementKey;
+            attackedSpacesCached[colorIndex] = true;
         }
 
-        return false;
+        return attackedSpaces[colorIndex];
     }
 
-    public boolean isBlackInCheck() {
-        //go through each piece and see if one of its legal moves is the position of one of the kings
+    private static PieceColor getOpposingColor(PieceColor color) {
+        return color == PieceColor.WHITE ? PieceColor.BLACK : PieceColor.WHITE;
+    }
 
-        Position blackKingPosition = blackPieces.getAlivePiecesOfType(King.class).get(0).getPosition();
+    /**
+     * Checks if the current state of the game is a stalemate (the player whose turn it is
+     * is not in check but has no legal moves)
+     * @return
+     */
+    public boolean isStalemate() {
+        return getGameStatus() == GameStatus.STALEMATE;
+    }
 
-        //look for black in check
-        for (ChessPiece piece : whitePieces.getAllAlivePieces()) {
-            if (piece.getClass() != King.class) {
-                for (Position position : piece.getLegalMoves(this, false)) {
-                    if (position.equals(blackKingPosition))
-                        return true;
-                }
-            }
+    /**
+     * Gets the spaces the piece on a position can legally move to, not including castling, as a mask of
+     * space indexes (see BitBoard). Checks and pins are worked out once per position so no moves have to be tried out.
+     *
+     * @param position
+     * @return
+     */
+    public long getLegalMoveMask(Position position) {
+        return legalMoveGenerator.getLegalMoves(BitBoard.toSpaceIndex(position));
+    }
+
+    /**
+     * Fills a move list with all the legal moves of the side whose turn it is as packed moves (see PackedMove).
+     * The move list is cleared first and nothing is allocated, so one move list can be reused for every position.
+     *
+     * @param moves
+     * @return The number of legal moves
+     */
+    public int generateLegalMoves(MoveList moves) {
+        moves.clear();
+
+        long pieces = bitBoard.getOccupancy(currentTurn);
+        while (pieces != 0) {
+            bitBoard.getPiece(Long.numberOfTrailingZeros(pieces)).getLegalMoves(this, true, moves);
+            pieces &= pieces - 1;
         }
 
-        return false;
+        return moves.size();
+    }
+
+    /**
+     * Gets the space a pawn that moved 2 spaces on the last move can be captured on with an En Passant
+     * (the space it passed over) as a space index (see BitBoard)
+     *
+     * @return The space index or -1 if the last move was not a pawn moving 2 spaces
+     */
+    public int getEnPassantSquare() {
+        return enPassantSquare;
     }
 
     /**
-     * Checks if the current state of the game is a stalemate
+     * Gets the column of the pawn that moved 2 spaces on the last move, or -1 if the last move was not one or
+     * there is no opposing pawn next to it that could capture it En Passant
+     *
      * @return
      */
-    public boolean isStalemate() {return false; }
+    int getEnPassantCol() {
+        if (enPassantSquare < 0)
+            return -1;
+
+        //the pawn is on the space past the one it passed over
+        int row = BitBoard.getRow(enPassantSquare);
+        int col = BitBoard.getCol(enPassantSquare);
+        int pawnRow = row < BOARD_SIZE / 2 ? row + 1 : row - 1;
+        ChessPiece pawn = bitBoard.getPiece(BitBoard.toSpaceIndex(pawnRow, col));
+        if (pawn == null)
+            return -1;
+
+        long capturingPawns = bitBoard.getPieces(getOpposingColor(pawn.getPieceColor()), PieceType.PAWN);
+        if (col > 0 && (capturingPawns & (1L << BitBoard.toSpaceIndex(pawnRow, col - 1))) != 0)
+            return col;
+        if (col < BOARD_SIZE - 1 && (capturingPawns & (1L << BitBoard.toSpaceIndex(pawnRow, col + 1))) != 0)
+            return col;
+
+        return -1;
+    }
 
     public boolean moveCausesCheckForItsOwnKing(Position moveFrom, Position moveTo ) {
         ChessPiece piece = getBoardSpace(moveFrom).getPiece();
 
-        //create new instance based off of the current game
-        ChessGame simulatedGame = new ChessGame(gameHistory);
+        //make the move in place and take it back once we know if the king is in check
+        simulateMove(moveFrom, moveTo);
 
-        //simulate the move
-        simulatedGame.simulateMove(moveFrom, moveTo);
-
-        //check if the king is in check
+        boolean causesCheck;
         if (piece.getPieceColor() == PieceColor.WHITE)
-            return simulatedGame.isWhiteInCheck();
+            causesCheck = isWhiteInCheck();
         else
-            return simulatedGame.isBlackInCheck();
+            causesCheck = isBlackInCheck();
+
+        unmakeMove();
 
+        return causesCheck;
     }
 
+    /**
+     * Gets the occupancy masks of the board. These are kept in sync with every BoardSpace.
+     *
+     * @return
+     */
+    public BitBoard getBitBoard() {
+        return this.bitBoard;
+    }
+
+    /**
+     * Gets the moves made with makeMove. The Move objects are created from the packed move history
+     * on every call so this should only be used for showing the moves.
+     *
+     * @return
+     */
     public List<Move> getGameHistory() {
-        return this.gameHistory;
+        List<Move> gameHistory = new ArrayList<>(moveHistorySize);
+        for (int ply = 0; ply < moveHistorySize; ply++)
+            gameHistory.add(PackedMove.toMove(moveHistory[ply]));
+
+        return gameHistory;
+    }
+
+    /**
+     * Gets the number of moves made with makeMove
+     *
+     * @return
+     */
+    public int getMoveHistorySize() {
+        return moveHistorySize;
+    }
+
+    /**
+     * Gets a move made with makeMove packed into an int (see PackedMove)
+     *
+     * @param ply The number of the move starting from 0
+     * @return
+     */
+    public int getPackedMove(int ply) {
+        if (ply < 0 || ply >= moveHistorySize)
+            throw new IndexOutOfBoundsException("No move at ply " + ply);
+
+        return moveHistory[ply];
+    }
+
+    /**
+     * Gets a copy of the moves made with makeMove packed into ints (see PackedMove)
+     *
+     * @return
+     */
+    public int[] getPackedMoveHistory() {
+        return Arrays.copyOf(moveHistory, moveHistorySize);
+    }
+
+    /**
+     * Gets the spaces changed by the last move made (including simulated ones): the spaces the piece moved from
+     * and to, the space of a pawn captured with an En Passant and the spaces a castling rook moved from and to
+     *
+     * @return A bit for each changed space (see BitBoard), or 0 if no move has been made
+     */
+    public long getLastMoveChangedSpaces() {
+        UndoRecord record = undoStack.peek();
+        if (record == null)
+            return 0;
+
+        long spaces = (1L << record.from.getIndex()) | (1L << record.to.getIndex());
+        if (record.capturePosition != null)
+            spaces |= 1L << record.capturePosition.getIndex();
+        if (record.castledRook != null)
+            spaces |= (1L << record.rookFrom.getIndex()) | (1L << record.rookTo.getIndex());
+
+        return spaces;
+    }
+
+    private void addToMoveHistory(int move) {
+        if (moveHistorySize == moveHistory.length)
+            moveHistory = Arrays.copyOf(moveHistory, moveHistory.length * 2);
+
+        moveHistory[moveHistorySize++] = move;
     }
 
     public PlayerPieceSet getBlackPieces() {
@@ -0,0 +1,196 @@
+package chess.model;
+
+import chess.model.pieces.ChessPiece;
+import chess.model.pieces.Pawn;
+
+/**
+ * Reads and writes positions in Forsyth-Edwards Notation (FEN). A FEN string has 6 fields separated by spaces:
+ *
+ *  - piece placement from the 8th rank (row 0) to the 1st, with upper case letters for white and numbers for empty spaces
+ *  - the side to move (w or b)
+ *  - the castling rights (any of KQkq or -)
+ *  - the En Passant target square (e.g. e3 or -)
+ *  - the number of moves since the last capture or pawn move
+ *  - the move number, starting at 1 and going up after black moves
+ *
+ * The last 4 fields can be left out.
+ */
+public final class Fen {
+
+    public final static String START_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private final static String PIECE_LETTERS = "pnbrqk";
+
+    private Fen() {
+    }
+
+    /**
+     * Sets up a new game from a FEN string without replaying any moves
+     *
+     * @param fen
+     * @return
+     * @throws IllegalArgumentException If the FEN string is not valid
+     */
+    public static ChessGame parse(String fen) {
+        String[] fields = fen.trim().split("\\s+");
+        ChessGame game = new ChessGame(false);
+
+        parsePiecePlacement(game, fields[0], fen);
+
+        if (fields.length > 1) {
+            if (fields[1].equals("b"))
+                game.changeTurns();
+            else if (!fields[1].equals("w"))
+                throw new IllegalArgumentException("Invalid side to move in FEN string: " + fen);
+        }
+
+        if (fields.length > 2)
+            game.setCastlingRights(parseCastlingRights(fields[2], fen));
+
+        if (fields.length > 3 && !fields[3].equals("-"))
+            game.setEnPassantSquare(parseSquare(fields[3], fen));
+
+        try {
+            if (fields.length > 4)
+                game.setHalfmoveClock(Integer.parseInt(fields[4]));
+            if (fields.length > 5)
+                game.setFullmoveNumber(Integer.parseInt(fields[5]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid move counters in FEN string: " + fen, e);
+        }
+
+        return game;
+    }
+
+    /**
+     * Writes the current position of a game as a FEN string
+     *
+     * @param game
+     * @return
+     */
+    public static String toFen(ChessGame game) {
+        BitBoard bitBoard = game.getBitBoard();
+        StringBuilder fen = new StringBuilder(90);
+
+        for (int row = 0; row < ChessGame.BOARD_SIZE; row++) {
+            int emptySpaces = 0;
+
+            for (int col = 0; col < ChessGame.BOARD_SIZE; col++) {
+                ChessPiece piece = bitBoard.getPiece(BitBoard.toSpaceIndex(row, col));
+
+                if (piece == null) {
+                    emptySpaces++;
+                }
+                else {
+                    if (emptySpaces > 0)
+                        fen.append(emptySpaces);
+                    emptySpaces = 0;
+
+                    char letter = PIECE_LETTERS.charAt(piece.getPieceType().ordinal());
+                    fen.append(piece.getPieceColor() == PieceColor.WHITE ? Character.toUpperCase(letter) : letter);
+                }
+            }
+
+            if (emptySpaces > 0)
+                fen.append(emptySpaces);
+            if (row < ChessGame.BOARD_SIZE - 1)
+                fen.append('/');
+        }
+
+        fen.append(game.getCurrentTurn() == PieceColor.WHITE ? " w " : " b ");
+
+        int castlingRights = game.getCastlingRights();
+        if (castlingRights == 0)
+            fen.append('-');
+        if ((castlingRights & Zobrist.WHITE_KING_SIDE) != 0)
+            fen.append('K');
+        if ((castlingRights & Zobrist.WHITE_QUEEN_SIDE) != 0)
+            fen.append('Q');
+        if ((castlingRights & Zobrist.BLACK_KING_SIDE) != 0)
+            fen.append('k');
+        if ((castlingRights & Zobrist.BLACK_QUEEN_SIDE) != 0)
+            fen.append('q');
+
+        fen.append(' ');
+        int enPassantSquare = game.getEnPassantSquare();
+        if (enPassantSquare < 0)
+            fen.append('-');
+        else
+            fen.append((char) ('a' + BitBoard.getCol(enPassantSquare))).append(ChessGame.BOARD_SIZE - BitBoard.getRow(enPassantSquare));
+
+        fen.append(' ').append(game.getHalfmoveClock());
+        fen.append(' ').append(game.getFullmoveNumber());
+
+        return fen.toString();
+    }
+
+    private static void parsePiecePlacement(ChessGame game, String placement, String fen) {
+        String[] rows = placement.split("/");
+        if (rows.length != ChessGame.BOARD_SIZE)
+            throw new IllegalArgumentException("Invalid FEN string: " + fen);
+
+        for (int row = 0; row < rows.length; row++) {
+            int col = 0;
+
+            for (int i = 0; i < rows[row].length(); i++) {
+                char letter = rows[row].charAt(i);
+
+                if (letter >= '1' && letter <= '8') {
+                    col += letter - '0';
+                }
+                else {
+                    int typeIndex = PIECE_LETTERS.indexOf(Character.toLowerCase(letter));
+                    if (typeIndex < 0 || col >= ChessGame.BOARD_SIZE)
+                        throw new IllegalArgumentException("Invalid FEN string: " + fen);
+
+                    PieceColor color = Character.isUpperCase(letter) ? PieceColor.WHITE : PieceColor.BLACK;
+                    addPiece(game, PieceType.values()[typeIndex], color, Position.of(row, col));
+                    col++;
+                }
+            }
+
+            if (col != ChessGame.BOARD_SIZE)
+                throw new IllegalArgumentException("Invalid FEN string: " + fen);
+        }
+    }
+
+    private static void addPiece(ChessGame game, PieceType type, PieceColor color, Position position) {
+        PlayerPieceSet pieceSet = color == PieceColor.BLACK ? game.getBlackPieces() : game.getWhitePieces();
+        ChessPiece piece = pieceSet.addPiece(type, position);
+        game.getBoardSpace(position).setPiece(piece);
+
+        //pawns that are not on their starting row can only move 1 space
+        if (piece instanceof Pawn)
+            piece.setHasMoved(position.getRow() != (color == PieceColor.WHITE ? ChessGame.BOARD_SIZE - 2 : 1));
+    }
+
+    private static int parseCastlingRights(String castling, String fen) {
+        int castlingRights = 0;
+        if (castling.equals("-"))
+            return castlingRights;
+
+        for (int i = 0; i < castling.length(); i++) {
+            switch (castling.charAt(i)) {
+                case 'K': castlingRights |= Zobrist.WHITE_KING_SIDE; break;
+                case 'Q': castlingRights |= Zobrist.WHITE_QUEEN_SIDE; break;
+                case 'k': castlingRights |= Zobrist.BLACK_KING_SIDE; break;
+                case 'q': castlingRights |= Zobrist.BLACK_QUEEN_SIDE; break;
+                default: throw new IllegalArgumentException("Invalid castling rights in FEN string: " + fen);
+            }
+        }
+
+        return castlingRights;
+    }
+
+    private static int parseSquare(String square, String fen) {
+        if (square.length() != 2)
+            throw new IllegalArgumentException("Invalid square in FEN string: " + fen);
+
+        int col = square.charAt(0) - 'a';
+        int row = ChessGame.BOARD_SIZE - (square.charAt(1) - '0');
+        if (col < 0 || col >= ChessGame.BOARD_SIZE || row < 0 || row >= ChessGame.BOARD_SIZE)
+            throw new IllegalArgumentException("Invalid square in FEN string: " + fen);
+
+        return BitBoard.toSpaceIndex(row, col);
+    }
+}
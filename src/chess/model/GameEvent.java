@@ -0,0 +1,64 @@
+package chess.model;
+
+/**
+ * Something that happened in a game, published by GameEventPublisher after a move is made with makeMove.
+ * A single move can publish several events, always starting with its MOVE event.
+ */
+public final class GameEvent {
+
+    public enum Type {
+        MOVE,
+        CAPTURE,
+        PROMOTION,
+        //the player to move is in check but has legal moves left
+        CHECK,
+        //the game ended with a checkmate, stalemate or threefold repetition
+        GAME_OVER
+    }
+
+    private final Type type;
+    private final int ply;
+    private final int move;
+    private final GameStatus status;
+
+    GameEvent(Type type, int ply, int move, GameStatus status) {
+        this.type = type;
+        this.ply = ply;
+        this.move = move;
+        this.status = status;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return The number of moves made in the game, including the move of the event
+     */
+    public int getPly() {
+        return ply;
+    }
+
+    /**
+     * Gets the move the event is about, packed into an int (see PackedMove)
+     *
+     * @return
+     */
+    public int getMove() {
+        return move;
+    }
+
+    /**
+     * Gets the status of the game after the move
+     *
+     * @return
+     */
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + ply + " " + PackedMove.toCoordinateNotation(move) + " " + status;
+    }
+}
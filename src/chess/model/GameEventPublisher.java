@@ -0,0 +1,86 @@
+package chess.model;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes the events of a game (see GameEvent) to any number of subscribers, such as loggers, bots and spectators.
+ *
+ * Every subscriber has its own bounded buffer and gets events as it requests them. Events are handed over without
+ * waiting, so a subscriber that falls behind never holds up makeMove: once its buffer is full the events it has no
+ * room for are dropped for that subscriber only (see getDroppedEvents).
+ */
+public class GameEventPublisher implements Flow.Publisher<GameEvent>, AutoCloseable {
+
+    private final SubmissionPublisher<GameEvent> publisher;
+    private final LongAdder droppedEvents = new LongAdder();
+
+    /**
+     * Creates a publisher that delivers events on the common fork join pool with the default buffer size
+     */
+    public GameEventPublisher() {
+        this(ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+    }
+
+    /**
+     * @param executor Delivers events to the subscribers
+     * @param maxBufferCapacity The most events buffered for each subscriber
+     */
+    public GameEventPublisher(Executor executor, int maxBufferCapacity) {
+        publisher = new SubmissionPublisher<>(executor, maxBufferCapacity);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super GameEvent> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    public boolean hasSubscribers() {
+        return publisher.hasSubscribers();
+    }
+
+    /**
+     * @return The number of events not delivered to a subscriber because its buffer was full
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * Publishes the events of a move that was just made
+     *
+     * @param move The packed move (see PackedMove)
+     * @param ply The number of moves made, including this one
+     * @param status The status of the game after the move
+     */
+    void publishMove(int move, int ply, GameStatus status) {
+        offer(new GameEvent(GameEvent.Type.MOVE, ply, move, status));
+
+        if (PackedMove.isCapture(move))
+            offer(new GameEvent(GameEvent.Type.CAPTURE, ply, move, status));
+        if (PackedMove.isPromotion(move))
+            offer(new GameEvent(GameEvent.Type.PROMOTION, ply, move, status));
+        if (status == GameStatus.CHECK)
+            offer(new GameEvent(GameEvent.Type.CHECK, ply, move, status));
+        if (status.isGameOver())
+            offer(new GameEvent(GameEvent.Type.GAME_OVER, ply, move, status));
+    }
+
+    private void offer(GameEvent event) {
+        publisher.offer(event, (subscriber, droppedEvent) -> {
+            droppedEvents.increment();
+            return false;
+        });
+    }
+
+    /**
+     * Tells every subscriber that no more events will be published
+     */
+    @Override
+    public void close() {
+        publisher.close();
+    }
+}
@@ -0,0 +1,236 @@
+package chess.model;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Replays and checks the games in a PGN file on all cores.
+ *
+ * The calling thread splits the file into the text of each game (see PgnReader.readGameText) and the games are
+ * replayed on a fork join pool. Every worker thread has its own ChessGame and PgnReader that it uses for every game
+ * it replays, taking back the moves of a game when it is done with it instead of setting up a new game. Only a few
+ * games per thread are read ahead of the results, so the file is never held in memory.
+ *
+ * Results are handed to the consumer on the calling thread, either in the order the games are in the file or in
+ * the order they finish.
+ */
+public class GameReplayPipeline {
+
+    //how many games per thread can be waiting to be replayed or waiting for their result to be used
+    private final static int GAMES_IN_FLIGHT_PER_THREAD = 16;
+
+    private final int parallelism;
+    private final boolean ordered;
+
+    private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+
+    /**
+     * Creates a pipeline that uses all cores and hands results over in the order of the games in the file
+     */
+    public GameReplayPipeline() {
+        this(Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    /**
+     * @param parallelism The number of games replayed at the same time
+     * @param ordered Whether results are handed over in the order of the games in the file
+     */
+    public GameReplayPipeline(int parallelism, boolean ordered) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+
+        this.parallelism = parallelism;
+        this.ordered = ordered;
+    }
+
+    /**
+     * Replays every game in a PGN file
+     *
+     * @param in The PGN file
+     * @param consumer Gets the result of each game, always on the calling thread
+     * @return How many games and moves were replayed and how long it took
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    public Stats replay(InputStream in, Consumer<GameReplayResult> consumer) throws IOException, InterruptedException {
+        return replay(new PgnReader(in), consumer);
+    }
+
+    /**
+     * Replays every game left in a PgnReader
+     *
+     * @param reader
+     * @param consumer Gets the result of each game, always on the calling thread
+     * @return How many games and moves were replayed and how long it took
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    public Stats replay(PgnReader reader, Consumer<GameReplayResult> consumer) throws IOException, InterruptedException {
+        Stats stats = new Stats();
+        long startTime = System.nanoTime();
+
+        int maxGamesInFlight = parallelism * GAMES_IN_FLIGHT_PER_THREAD;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        //results are taken from the front of the queue when ordered or from the completion service when not
+        Deque<Future<GameReplayResult>> queue = new ArrayDeque<>();
+        CompletionService<GameReplayResult> completionService = new ExecutorCompletionService<>(pool);
+        int gamesInFlight = 0;
+
+        try {
+            for (String text = reader.readGameText(); text != null; text = reader.readGameText()) {
+                String gameText = text;
+                int gameNumber = reader.getGameNumber();
+
+                if (ordered)
+                    queue.add(pool.submit(() -> workers.get().replay(gameText, gameNumber)));
+                else
+                    completionService.submit(() -> workers.get().replay(gameText, gameNumber));
+                gamesInFlight++;
+
+                if (gamesInFlight == maxGamesInFlight) {
+                    stats.add(takeResult(queue, completionService), consumer);
+                    gamesInFlight--;
+                }
+            }
+
+            for (; gamesInFlight > 0; gamesInFlight--)
+                stats.add(takeResult(queue, completionService), consumer);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        stats.elapsedNanos = System.nanoTime() - startTime;
+        return stats;
+    }
+
+    private GameReplayResult takeResult(Deque<Future<GameReplayResult>> queue,
+                                        CompletionService<GameReplayResult> completionService) throws InterruptedException {
+        Future<GameReplayResult> future = ordered ? queue.poll() : completionService.take();
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * The game and reader a single thread replays all of its games with
+     */
+    private static class Worker {
+
+        private final ChessGame game = new ChessGame();
+        private final PgnReader reader = new PgnReader(Reader.nullReader());
+
+        GameReplayResult replay(String text, int gameNumber) throws IOException {
+            reader.reset(new StringReader(text), gameNumber - 1);
+
+            try {
+                PgnGame pgnGame;
+                try {
+                    pgnGame = reader.readGame(game);
+                } catch (PgnException e) {
+                    //the moves before the illegal move are in the game the reader used, which is a new one for a FEN tag
+                    pgnGame = e.getPartialGame();
+                }
+
+                ChessGame replayedGame = pgnGame.getGame();
+
+                return new GameReplayResult(gameNumber, pgnGame.getTags(), pgnGame.getResult(),
+                        replayedGame == null ? 0 : replayedGame.getMoveHistorySize(),
+                        replayedGame == null ? null : replayedGame.getGameStatus(), pgnGame.getError());
+            } finally {
+                while (game.unmakeMove()) {
+                    //take back every move so the game is back at the starting position
+                }
+            }
+        }
+    }
+
+    /**
+     * How many games and moves were replayed and how long it took
+     */
+    public static class Stats {
+
+        private long games = 0;
+        private long invalidGames = 0;
+        private long plies = 0;
+        private long elapsedNanos = 0;
+
+        private void add(GameReplayResult result, Consumer<GameReplayResult> consumer) {
+            games++;
+            plies += result.getPlies();
+            if (!result.isValid())
+                invalidGames++;
+
+            consumer.accept(result);
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public long getInvalidGames() {
+            return invalidGames;
+        }
+
+        public long getPlies() {
+            return plies;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getGamesPerSecond() {
+            return elapsedNanos > 0 ? games / (elapsedNanos / 1e9) : 0;
+        }
+
+        public double getPliesPerSecond() {
+            return elapsedNanos > 0 ? plies / (elapsedNanos / 1e9) : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d games (%d invalid), %d plies in %.3fs, %.0f games/second, %.0f plies/second",
+                    games, invalidGames, plies, elapsedNanos / 1e9, getGamesPerSecond(), getPliesPerSecond());
+        }
+    }
+
+    /**
+     * Replays the games in a PGN file and prints the games with illegal moves and how long it took
+     *
+     * @param args The PGN file and optionally the number of threads to use
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 0) {
+            System.out.println("Usage: GameReplayPipeline <file.pgn> [threads]");
+            return;
+        }
+
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        try (InputStream in = new FileInputStream(args[0])) {
+            Stats stats = new GameReplayPipeline(threads, false).replay(in, result -> {
+                if (!result.isValid())
+                    System.out.println(result.getError());
+            });
+
+            System.out.println(stats);
+        }
+    }
+}
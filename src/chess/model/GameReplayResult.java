@@ -0,0 +1,81 @@
+package chess.model;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The result of replaying a single game with GameReplayPipeline
+ */
+public class GameReplayResult {
+
+    private final int gameNumber;
+    private final Map<String, String> tags;
+    private final String result;
+    private final int plies;
+    private final GameStatus status;
+    private final String error;
+
+    GameReplayResult(int gameNumber, Map<String, String> tags, String result, int plies, GameStatus status, String error) {
+        this.gameNumber = gameNumber;
+        this.tags = Collections.unmodifiableMap(tags);
+        this.result = result;
+        this.plies = plies;
+        this.status = status;
+        this.error = error;
+    }
+
+    /**
+     * @return Where the game is in the file, starting at 1
+     */
+    public int getGameNumber() {
+        return gameNumber;
+    }
+
+    /**
+     * Gets the tag pairs of the game
+     *
+     * @return
+     */
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Gets the result at the end of the moves (1-0, 0-1, 1/2-1/2 or *), or the Result tag if the moves had none
+     *
+     * @return
+     */
+    public String getResult() {
+        return result;
+    }
+
+    /**
+     * @return The number of moves made before the game ended or an illegal move was found
+     */
+    public int getPlies() {
+        return plies;
+    }
+
+    /**
+     * Gets the status of the game after its last legal move, or null if its FEN tag could not be read
+     *
+     * @return
+     */
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return Whether every move in the game was legal
+     */
+    public boolean isValid() {
+        return error == null;
+    }
+
+    /**
+     * @return Why the game is not valid or null if it is
+     */
+    public String getError() {
+        return error;
+    }
+}
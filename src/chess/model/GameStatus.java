@@ -0,0 +1,19 @@
+package chess.model;
+
+/**
+ * The state of a game for the player whose turn it is
+ */
+public enum GameStatus {
+    IN_PROGRESS,
+    CHECK,
+    CHECKMATE,
+    STALEMATE,
+    THREEFOLD_REPETITION;
+
+    /**
+     * @return Whether no more moves can be made
+     */
+    public boolean isGameOver() {
+        return this == CHECKMATE || this == STALEMATE || this == THREEFOLD_REPETITION;
+    }
+}
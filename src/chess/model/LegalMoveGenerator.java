@@ -0,0 +1,212 @@
+package chess.model;
+
+import chess.model.pieces.ChessPiece;
+
+/**
+ * Works out the legal moves of a piece without trying them out on the board.
+ *
+ * Once per position it finds the pieces giving check to a king and the pieces pinned to it. A move is then legal when:
+ *  - a king does not move onto an attacked space (worked out with the king taken off the board so it can not hide behind itself)
+ *  - with one piece giving check every other move captures it or blocks it, with two only the king can move
+ *  - a pinned piece stays on the line between its king and the piece pinning it
+ *
+ * En Passant takes 2 pawns off the same row, which can uncover a check that is not a normal pin, so it is
+ * checked by looking for attackers of the king with both pawns taken off the board.
+ *
+ * Castling is not included here, King only adds it when the king is not in check and does not pass through an attacked space.
+ */
+class LegalMoveGenerator {
+
+    private final ChessGame game;
+    private final BitBoard bitBoard;
+
+    //check and pin information for each color, kept until the position key changes
+    private final long[] positionKeys = new long[PieceColor.values().length];
+    private final boolean[] cached = new boolean[PieceColor.values().length];
+    private final long[] checkers = new long[PieceColor.values().length];
+    private final long[] checkMasks = new long[PieceColor.values().length];
+    private final long[] pinned = new long[PieceColor.values().length];
+    private final long[][] pinRays = new long[PieceColor.values().length][BitBoard.NUMBER_OF_SPACES];
+
+    LegalMoveGenerator(ChessGame game) {
+        this.game = game;
+        this.bitBoard = game.getBitBoard();
+    }
+
+    /**
+     * Gets the spaces the piece on a space can legally move to (not including castling)
+     *
+     * @param fromIndex
+     * @return
+     */
+    long getLegalMoves(int fromIndex) {
+        ChessPiece piece = bitBoard.getPiece(fromIndex);
+        if (piece == null)
+            return 0L;
+
+        PieceColor color = piece.getPieceColor();
+        PieceColor opposingColor = getOpposingColor(color);
+        int colorIndex = color.ordinal();
+        updateChecksAndPins(color);
+
+        long own = bitBoard.getOccupancy(color);
+        long occupied = bitBoard.getOccupancy();
+
+        if (piece.getPieceType() == PieceType.KING) {
+            long withoutKing = occupied & ~(1L << fromIndex);
+            return Attacks.kingAttacks(fromIndex) & ~own & ~bitBoard.getAttackedSpaces(opposingColor, withoutKing);
+        }
+
+        //only the king can get out of a double check
+        if (Long.bitCount(checkers[colorIndex]) > 1)
+            return 0L;
+
+        long moves;
+        switch (piece.getPieceType()) {
+            case PAWN:
+                moves = getPawnMoves(piece, fromIndex, occupied);
+                break;
+            case KNIGHT:
+                moves = Attacks.knightAttacks(fromIndex) & ~own;
+                break;
+            case BISHOP:
+                moves = Attacks.bishopAttacks(fromIndex, occupied) & ~own;
+                break;
+            case ROOK:
+                moves = Attacks.rookAttacks(fromIndex, occupied) & ~own;
+                break;
+            default:
+                moves = Attacks.queenAttacks(fromIndex, occupied) & ~own;
+                break;
+        }
+
+        moves &= checkMasks[colorIndex];
+        if ((pinned[colorIndex] & (1L << fromIndex)) != 0)
+            moves &= pinRays[colorIndex][fromIndex];
+
+        if (piece.getPieceType() == PieceType.PAWN)
+            moves |= getEnPassantMove(color, fromIndex);
+
+        return moves;
+    }
+
+    /**
+     * Gets the pieces giving check to the king of a color
+     *
+     * @param color
+     * @return
+     */
+    long getCheckers(PieceColor color) {
+        updateChecksAndPins(color);
+        return checkers[color.ordinal()];
+    }
+
+    /**
+     * Gets the pieces of a color that are pinned to their king
+     *
+     * @param color
+     * @return
+     */
+    long getPinnedPieces(PieceColor color) {
+        updateChecksAndPins(color);
+        return pinned[color.ordinal()];
+    }
+
+    private long getPawnMoves(ChessPiece pawn, int fromIndex, long occupied) {
+        PieceColor color = pawn.getPieceColor();
+        int direction = color == PieceColor.BLACK ? ChessGame.BOARD_SIZE : -ChessGame.BOARD_SIZE;
+
+        long moves = Attacks.pawnAttacks(color, fromIndex) & bitBoard.getOccupancy(getOpposingColor(color));
+
+        int oneAhead = fromIndex + direction;
+        if (oneAhead >= 0 && oneAhead < BitBoard.NUMBER_OF_SPACES && (occupied & (1L << oneAhead)) == 0) {
+            moves |= 1L << oneAhead;
+
+            int twoAhead = oneAhead + direction;
+            if (!pawn.hasMoved() && twoAhead >= 0 && twoAhead < BitBoard.NUMBER_OF_SPACES && (occupied & (1L << twoAhead)) == 0)
+                moves |= 1L << twoAhead;
+        }
+
+        return moves;
+    }
+
+    /**
+     * Gets the En Passant capture for a pawn if it has one and it does not leave its king in check
+     */
+    private long getEnPassantMove(PieceColor color, int fromIndex) {
+        //the space has to have been passed over by an opposing pawn
+        int toIndex = game.getEnPassantSquare();
+        if (toIndex < 0 || BitBoard.getRow(toIndex) != (color == PieceColor.WHITE ? 2 : ChessGame.BOARD_SIZE - 3))
+            return 0L;
+
+        PieceColor opposingColor = getOpposingColor(color);
+
+        //the pawn that can be captured is next to the capturing pawn, right behind the space it passed over
+        int captureIndex = BitBoard.toSpaceIndex(BitBoard.getRow(fromIndex), BitBoard.getCol(toIndex));
+
+        if ((Attacks.pawnAttacks(color, fromIndex) & (1L << toIndex)) == 0
+                || (bitBoard.getPieces(opposingColor, PieceType.PAWN) & (1L << captureIndex)) == 0)
+            return 0L;
+
+        long king = bitBoard.getPieces(color, PieceType.KING);
+        if (king == 0)
+            return 1L << toIndex;
+
+        long occupiedAfter = (bitBoard.getOccupancy() & ~(1L << fromIndex) & ~(1L << captureIndex)) | (1L << toIndex);
+        if (bitBoard.getAttackers(Long.numberOfTrailingZeros(king), opposingColor, occupiedAfter) != 0)
+            return 0L;
+
+        return 1L << toIndex;
+    }
+
+    private void updateChecksAndPins(PieceColor color) {
+        int colorIndex = color.ordinal();
+        long positionKey = game.getPositionKey();
+
+        if (cached[colorIndex] && positionKeys[colorIndex] == positionKey)
+            return;
+
+        positionKeys[colorIndex] = positionKey;
+        cached[colorIndex] = true;
+        checkers[colorIndex] = 0L;
+        checkMasks[colorIndex] = ~0L;
+        pinned[colorIndex] = 0L;
+
+        long king = bitBoard.getPieces(color, PieceType.KING);
+        if (king == 0)
+            return;
+
+        int kingIndex = Long.numberOfTrailingZeros(king);
+        PieceColor opposingColor = getOpposingColor(color);
+        long occupied = bitBoard.getOccupancy();
+
+        long kingCheckers = bitBoard.getAttackers(kingIndex, opposingColor, occupied);
+        checkers[colorIndex] = kingCheckers;
+
+        if (Long.bitCount(kingCheckers) == 1)
+            checkMasks[colorIndex] = kingCheckers | Attacks.between(kingIndex, Long.numberOfTrailingZeros(kingCheckers));
+        else if (kingCheckers != 0)
+            checkMasks[colorIndex] = 0L;
+
+        //look through the opposing pieces from the king for sliding pieces with exactly one of our pieces in the way
+        long opposing = bitBoard.getOccupancy(opposingColor);
+        long queens = bitBoard.getPieces(opposingColor, PieceType.QUEEN);
+        long snipers = (Attacks.rookAttacks(kingIndex, opposing) & (bitBoard.getPieces(opposingColor, PieceType.ROOK) | queens))
+                     | (Attacks.bishopAttacks(kingIndex, opposing) & (bitBoard.getPieces(opposingColor, PieceType.BISHOP) | queens));
+
+        while (snipers != 0) {
+            int sniperIndex = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+
+            long inBetween = Attacks.between(kingIndex, sniperIndex) & occupied;
+            if (Long.bitCount(inBetween) == 1 && (inBetween & bitBoard.getOccupancy(color)) != 0) {
+                pinned[colorIndex] |= inBetween;
+                pinRays[colorIndex][Long.numberOfTrailingZeros(inBetween)] = Attacks.between(kingIndex, sniperIndex) | (1L << sniperIndex);
+            }
+        }
+    }
+
+    private static PieceColor getOpposingColor(PieceColor color) {
+        return color == PieceColor.WHITE ? PieceColor.BLACK : PieceColor.WHITE;
+    }
+}
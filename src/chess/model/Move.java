@@ -41,6 +41,10 @@ public class Move {
         return isCheckmate;
     }
 
+    public boolean isStalemate() {
+        return isStalemate;
+    }
+
     public void setAsCheck() {
         this.isCheck = true;
     }
@@ -0,0 +1,40 @@
+package chess.model;
+
+/**
+ * A reusable list of packed moves (see PackedMove) backed by an int array, so moves can be
+ * generated over and over without allocating anything.
+ */
+public final class MoveList {
+
+    //no legal chess position has more than 218 moves
+    public final static int CAPACITY = 256;
+
+    private final int[] moves = new int[CAPACITY];
+    private int size = 0;
+
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("No move at index " + index);
+
+        return moves[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Empties the list so it can be reused
+     */
+    public void clear() {
+        size = 0;
+    }
+}
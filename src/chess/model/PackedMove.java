@@ -0,0 +1,193 @@
+package chess.model;
+
+import chess.model.pieces.*;
+
+/**
+ * Packs everything about a move into a single int so moves can be generated, searched and stored
+ * in int arrays instead of as Move objects. A Move is only created from it when it has to be shown.
+ *
+ * Bits (from lowest):
+ *  0 - 5    space index moved from (see BitBoard)
+ *  6 - 11   space index moved to
+ *  12 - 14  type of the piece moved
+ *  15       color of the piece moved (1 for black)
+ *  16 - 18  type of the captured piece + 1 (0 if nothing was captured)
+ *  19 - 21  type of the piece a pawn was promoted into + 1 (0 if it was not promoted)
+ *  22 - 27  flags
+ */
+public final class PackedMove {
+
+    public final static int EN_PASSANT = 1 << 22;
+    public final static int KING_SIDE_CASTLE = 1 << 23;
+    public final static int QUEEN_SIDE_CASTLE = 1 << 24;
+    public final static int CHECK = 1 << 25;
+    public final static int CHECKMATE = 1 << 26;
+    public final static int STALEMATE = 1 << 27;
+
+    private final static int SPACE_MASK = 0x3F;
+    private final static int TYPE_MASK = 0x7;
+    private final static int TO_SHIFT = 6;
+    private final static int PIECE_SHIFT = 12;
+    private final static int COLOR_SHIFT = 15;
+    private final static int CAPTURED_SHIFT = 16;
+    private final static int PROMOTION_SHIFT = 19;
+
+    private final static PieceType[] PIECE_TYPES = PieceType.values();
+
+    private PackedMove() {
+    }
+
+    /**
+     * Packs a move into an int
+     *
+     * @param from The space index moved from
+     * @param to The space index moved to
+     * @param pieceType The type of the piece moved
+     * @param color The color of the piece moved
+     * @param capturedType The type of the piece captured or null
+     * @param promotionType The type of the piece a pawn is promoted into or null
+     * @param flags Any of EN_PASSANT, KING_SIDE_CASTLE, QUEEN_SIDE_CASTLE, CHECK, CHECKMATE and STALEMATE
+     * @return
+     */
+    public static int encode(int from, int to, PieceType pieceType, PieceColor color, PieceType capturedType, PieceType promotionType, int flags) {
+        return from
+                | (to << TO_SHIFT)
+                | (pieceType.ordinal() << PIECE_SHIFT)
+                | (color.ordinal() << COLOR_SHIFT)
+                | ((capturedType == null ? 0 : capturedType.ordinal() + 1) << CAPTURED_SHIFT)
+                | ((promotionType == null ? 0 : promotionType.ordinal() + 1) << PROMOTION_SHIFT)
+                | flags;
+    }
+
+    public static int getFrom(int move) {
+        return move & SPACE_MASK;
+    }
+
+    public static int getTo(int move) {
+        return (move >>> TO_SHIFT) & SPACE_MASK;
+    }
+
+    public static PieceType getPieceType(int move) {
+        return PIECE_TYPES[(move >>> PIECE_SHIFT) & TYPE_MASK];
+    }
+
+    public static PieceColor getPieceColor(int move) {
+        return ((move >>> COLOR_SHIFT) & 1) == 0 ? PieceColor.WHITE : PieceColor.BLACK;
+    }
+
+    /**
+     * @return The type of the captured piece or null if nothing was captured
+     */
+    public static PieceType getCapturedType(int move) {
+        int type = (move >>> CAPTURED_SHIFT) & TYPE_MASK;
+        return type == 0 ? null : PIECE_TYPES[type - 1];
+    }
+
+    /**
+     * @return The type the pawn was promoted into or null if it was not promoted
+     */
+    public static PieceType getPromotionType(int move) {
+        int type = (move >>> PROMOTION_SHIFT) & TYPE_MASK;
+        return type == 0 ? null : PIECE_TYPES[type - 1];
+    }
+
+    public static boolean isCapture(int move) {
+        return ((move >>> CAPTURED_SHIFT) & TYPE_MASK) != 0;
+    }
+
+    public static boolean isPromotion(int move) {
+        return ((move >>> PROMOTION_SHIFT) & TYPE_MASK) != 0;
+    }
+
+    public static boolean hasFlag(int move, int flag) {
+        return (move & flag) != 0;
+    }
+
+    /**
+     * Packs a Move object
+     *
+     * @param move
+     * @return
+     */
+    public static int fromMove(Move move) {
+        int flags = 0;
+        if (move.isCaptureMove() && !move.getCapturePosition().equals(move.getEndPosition()))
+            flags |= EN_PASSANT;
+        if (move.isKingSideCastle())
+            flags |= KING_SIDE_CASTLE;
+        if (move.isQueenSideCastle())
+            flags |= QUEEN_SIDE_CASTLE;
+        if (move.isCheckmate())
+            flags |= CHECKMATE;
+        else if (move.isCheck())
+            flags |= CHECK;
+        if (move.isStalemate())
+            flags |= STALEMATE;
+
+        return encode(move.getStartPosition().getIndex(), move.getEndPosition().getIndex(),
+                move.getPiece().getPieceType(), move.getPieceColor(),
+                move.isCaptureMove() ? move.getCapturedPiece().getPieceType() : null,
+                move.getPromotedPiece() == null ? null : move.getPromotedPiece().getPieceType(),
+                flags);
+    }
+
+    /**
+     * Creates a Move object from a packed move so it can be shown or written out in notation.
+     * The pieces in it are new instances, not the ones on the board.
+     *
+     * @param move
+     * @return
+     */
+    public static Move toMove(int move) {
+        PieceColor color = getPieceColor(move);
+        Position from = Position.of(getFrom(move));
+        Position to = Position.of(getTo(move));
+
+        ChessPiece piece = PieceFactory.create(getPieceType(move), color);
+        piece.setPosition(from);
+        Move materializedMove = new Move(piece, from, to);
+
+        if (isCapture(move)) {
+            PieceColor capturedColor = color == PieceColor.WHITE ? PieceColor.BLACK : PieceColor.WHITE;
+            Position capturePosition = hasFlag(move, EN_PASSANT) ? Position.of(from.getRow(), to.getCol()) : to;
+            materializedMove.setAsCaptureMove(PieceFactory.create(getCapturedType(move), capturedColor), capturePosition);
+        }
+
+        if (isPromotion(move))
+            materializedMove.setAsPawnPromotion(PieceFactory.create(getPromotionType(move), color));
+
+        if (hasFlag(move, KING_SIDE_CASTLE))
+            materializedMove.setAsKingSideCastle();
+        else if (hasFlag(move, QUEEN_SIDE_CASTLE))
+            materializedMove.setAsQueenSideCastle();
+
+        if (hasFlag(move, CHECKMATE))
+            materializedMove.setAsCheckmate();
+        else if (hasFlag(move, CHECK))
+            materializedMove.setAsCheck();
+
+        if (hasFlag(move, STALEMATE))
+            materializedMove.setAsStalemate();
+
+        return materializedMove;
+    }
+
+    /**
+     * Writes a move in coordinate notation (e.g. e2e4 or e7e8q)
+     *
+     * @param move
+     * @return
+     */
+    public static String toCoordinateNotation(int move) {
+        Position from = Position.of(getFrom(move));
+        Position to = Position.of(getTo(move));
+
+        StringBuilder notation = new StringBuilder(5);
+        notation.append((char) (from.getCol() + 'a')).append(8 - from.getRow());
+        notation.append((char) (to.getCol() + 'a')).append(8 - to.getRow());
+        if (isPromotion(move))
+            notation.append(PieceFactory.create(getPromotionType(move), PieceColor.WHITE).getNotationLetter().toLowerCase());
+
+        return notation.toString();
+    }
+}
@@ -0,0 +1,176 @@
+package chess.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the leaf nodes of the legal move tree from a position (a perft, short for performance test).
+ * Since the counts for well known positions have been worked out by other engines, comparing against them
+ * checks that the legal moves (especially castling, En Passant and promotions) are correct, and timing it shows
+ * how fast they are generated.
+ *
+ * Run it with no arguments to check all the reference positions, or with a depth and an optional FEN string
+ * to get the count for each move from that position.
+ */
+public class Perft {
+
+    /**
+     * Positions with known perft counts. Most of these are from https://www.chessprogramming.org/Perft_Results
+     */
+    public enum ReferencePosition {
+        START("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1", 20, 400, 8902, 197281),
+        KIWIPETE("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", 48, 2039, 97862),
+        EN_PASSANT_DISCOVERED_CHECK("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 14, 191, 2812, 43238),
+        PROMOTION_AND_CASTLING("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", 6, 264, 9467),
+        PROMOTION_INTO_CHECK("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 44, 1486, 62379),
+        MIDDLEGAME("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10", 46, 2079, 89890);
+
+        private final String fen;
+        private final long[] expectedNodes;
+
+        ReferencePosition(String fen, long... expectedNodes) {
+            this.fen = fen;
+            this.expectedNodes = expectedNodes;
+        }
+
+        public String getFen() {
+            return fen;
+        }
+
+        /**
+         * @return The deepest depth there is a known count for
+         */
+        public int getMaxDepth() {
+            return expectedNodes.length;
+        }
+
+        public long getExpectedNodes(int depth) {
+            return expectedNodes[depth - 1];
+        }
+    }
+
+    private Perft() {
+    }
+
+    /**
+     * Counts the number of positions that can be reached from the current position in exactly depth moves
+     *
+     * @param game The game to count from. It is returned to the same position when done
+     * @param depth
+     * @return
+     */
+    public static long perft(ChessGame game, int depth) {
+        return perft(game, depth, createMoveLists(depth));
+    }
+
+    /**
+     * Same as perft but splits the count up by the first move made. Comparing this against another engine
+     * shows which move has the wrong count.
+     *
+     * @param game
+     * @param depth Must be at least 1
+     * @return The count for each move, keyed by the move in coordinate notation (e.g. e2e4 or e7e8q)
+     * @throws IllegalArgumentException If the depth is less than 1
+     */
+    public static Map<String, Long> divide(ChessGame game, int depth) {
+        if (depth < 1)
+            throw new IllegalArgumentException("Can not divide a perft of depth " + depth);
+
+        Map<String, Long> nodesPerMove = new LinkedHashMap<>();
+        MoveList[] moveLists = createMoveLists(depth);
+
+        MoveList moves = moveLists[depth - 1];
+        game.generateLegalMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            game.simulateMove(moves.get(i));
+            nodesPerMove.put(PackedMove.toCoordinateNotation(moves.get(i)), perft(game, depth - 1, moveLists));
+            game.unmakeMove();
+        }
+
+        return nodesPerMove;
+    }
+
+    /**
+     * Each depth gets its own move list so the moves of a position are not overwritten while they are being
+     * gone through, and nothing is allocated while counting
+     */
+    private static long perft(ChessGame game, int depth, MoveList[] moveLists) {
+        if (depth == 0)
+            return 1;
+
+        MoveList moves = moveLists[depth - 1];
+        int moveCount = game.generateLegalMoves(moves);
+        if (depth == 1)
+            return moveCount;
+
+        long nodes = 0;
+        for (int i = 0; i < moveCount; i++) {
+            game.simulateMove(moves.get(i));
+            nodes += perft(game, depth - 1, moveLists);
+            game.unmakeMove();
+        }
+
+        return nodes;
+    }
+
+    private static MoveList[] createMoveLists(int depth) {
+        MoveList[] moveLists = new MoveList[Math.max(depth, 1)];
+        for (int i = 0; i < moveLists.length; i++)
+            moveLists[i] = new MoveList();
+
+        return moveLists;
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            boolean allPassed = true;
+            for (ReferencePosition position : ReferencePosition.values()) {
+                for (int depth = 1; depth <= position.getMaxDepth(); depth++) {
+                    long startTime = System.nanoTime();
+                    long nodes = perft(ChessGame.fromFen(position.getFen()), depth);
+                    long elapsed = System.nanoTime() - startTime;
+
+                    boolean passed = nodes == position.getExpectedNodes(depth);
+                    allPassed &= passed;
+
+                    System.out.println(String.format("%-28s depth %d: %10d nodes (expected %10d) %s  %s",
+                            position, depth, nodes, position.getExpectedNodes(depth), passed ? "OK  " : "FAIL",
+                            formatSpeed(nodes, elapsed)));
+                }
+            }
+
+            if (!allPassed)
+                System.exit(1);
+        }
+        else {
+            int depth = Integer.parseInt(args[0]);
+            if (depth < 1) {
+                System.out.println("Usage: Perft [depth (at least 1) [fen]]");
+                return;
+            }
+
+            String fen = args.length > 1 ? String.join(" ", java.util.Arrays.copyOfRange(args, 1, args.length))
+                                         : ReferencePosition.START.getFen();
+
+            long startTime = System.nanoTime();
+            Map<String, Long> nodesPerMove = divide(ChessGame.fromFen(fen), depth);
+            long elapsed = System.nanoTime() - startTime;
+
+            long nodes = 0;
+            for (Map.Entry<String, Long> entry : nodesPerMove.entrySet()) {
+                System.out.println(entry.getKey() + ": " + entry.getValue());
+                nodes += entry.getValue();
+            }
+
+            System.out.println();
+            System.out.println("Moves: " + nodesPerMove.size());
+            System.out.println("Nodes: " + nodes);
+            System.out.println(formatSpeed(nodes, elapsed));
+        }
+    }
+
+    private static String formatSpeed(long nodes, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        return String.format("%.3fs, %.0f nodes/second", seconds, seconds > 0 ? nodes / seconds : 0);
+    }
+}
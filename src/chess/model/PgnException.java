@@ -0,0 +1,27 @@
+package chess.model;
+
+/**
+ * Thrown by PgnReader when a game has a move that is not legal or can not be read, or text that is not PGN. The rest of the game has been
+ * skipped, and the game as far as it could be read is kept so the moves before the error are not lost.
+ */
+public class PgnException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final PgnGame partialGame;
+
+    PgnException(String message, PgnGame partialGame) {
+        super(message);
+        this.partialGame = partialGame;
+    }
+
+    /**
+     * Gets the game as far as it could be read: its tags, and the game the moves before the error were made in
+     * (null if not even the starting position could be set up). Its error is the message of this exception.
+     *
+     * @return
+     */
+    public PgnGame getPartialGame() {
+        return partialGame;
+    }
+}
@@ -0,0 +1,81 @@
+package chess.model;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A single game read from a PGN file by PgnReader
+ */
+public class PgnGame {
+
+    private final int gameNumber;
+    private final Map<String, String> tags;
+    private final ChessGame game;
+    private final String result;
+    private final String error;
+
+    PgnGame(int gameNumber, Map<String, String> tags, ChessGame game, String result) {
+        this(gameNumber, tags, game, result, null);
+    }
+
+    PgnGame(int gameNumber, Map<String, String> tags, ChessGame game, String result, String error) {
+        this.gameNumber = gameNumber;
+        this.tags = Collections.unmodifiableMap(tags);
+        this.game = game;
+        this.result = result;
+        this.error = error;
+    }
+
+    /**
+     * @return Where the game is in the file, starting at 1
+     */
+    public int getGameNumber() {
+        return gameNumber;
+    }
+
+    /**
+     * Gets the tag pairs (e.g. Event, White, Black) in the order they were in the file
+     *
+     * @return
+     */
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    public String getTag(String name) {
+        return tags.get(name);
+    }
+
+    /**
+     * Gets the game with all of the moves made. The moves are in its move history. For a game with an error
+     * only the moves before the error were made, and there is no game if its FEN tag could not be read.
+     *
+     * @return
+     */
+    public ChessGame getGame() {
+        return game;
+    }
+
+    /**
+     * Gets the result at the end of the moves (1-0, 0-1, 1/2-1/2 or *), or the Result tag if the moves had none
+     *
+     * @return
+     */
+    public String getResult() {
+        return result;
+    }
+
+    /**
+     * @return Whether every move in the game was read and made
+     */
+    public boolean isValid() {
+        return error == null;
+    }
+
+    /**
+     * @return Why the game could not be read completely, or null if it could
+     */
+    public String getError() {
+        return error;
+    }
+}
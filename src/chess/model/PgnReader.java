@@ -0,0 +1,499 @@
+package chess.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads games from a PGN (Portable Game Notation) file one at a time, so files with millions of games can be read
+ * without holding more than one game in memory.
+ *
+ * Moves in Standard Algebraic Notation (e.g. e4, Nbd7, exd6, O-O, e8=Q+) are matched against the legal moves of the
+ * position, so they are read straight from the input buffer and a move is only made when exactly one legal move matches it.
+ * Comments, variations and numeric annotation glyphs are skipped. A game with a FEN tag starts from that position.
+ */
+public class PgnReader implements Closeable {
+
+    //no move in Standard Algebraic Notation is anywhere near this long
+    private final static int MAX_TOKEN_LENGTH = 32;
+
+    private final static String PIECE_LETTERS = "PNBRQK";
+
+    private Reader reader;
+    private final char[] buffer = new char[8192];
+    private int bufferSize = 0;
+    private int bufferIndex = 0;
+
+    private final char[] token = new char[MAX_TOKEN_LENGTH];
+    private int tokenLength = 0;
+
+    private final MoveList legalMoves = new MoveList();
+    private int gameNumber = 0;
+
+    //the characters read while reading the text of a game
+    private StringBuilder gameText = null;
+
+    public PgnReader(InputStream in) {
+        this(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    public PgnReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads every remaining game and hands each one to a consumer as soon as it is read. A game with a move that is
+     * not legal or can not be read is handed over as far as it could be read, with its error (see PgnGame.getError),
+     * and reading goes on with the game after it.
+     *
+     * @param consumer
+     * @return The number of games read
+     * @throws IOException
+     */
+    public int readAll(Consumer<PgnGame> consumer) throws IOException {
+        int games = 0;
+
+        while (true) {
+            PgnGame game;
+            try {
+                game = readGame();
+            } catch (PgnException e) {
+                game = e.getPartialGame();
+            }
+
+            if (game == null)
+                return games;
+
+            consumer.accept(game);
+            games++;
+        }
+    }
+
+    /**
+     * Reads the next game
+     *
+     * @return The game or null if there are no more games
+     * @throws IOException
+     * @throws PgnException If the game has a move that is not legal or can not be read, or a ) or } that closes
+     *         nothing. The rest of the game is skipped so the next call reads the game after it.
+     */
+    public PgnGame readGame() throws IOException {
+        return readGame(null, true);
+    }
+
+    /**
+     * Reads the next game, making its moves in a game that is already set up at the starting position. This lets the
+     * same game be used again (after taking back its moves) instead of setting up a new one for every game read.
+     * A game with a FEN tag is still set up in a new game.
+     *
+     * @param game
+     * @return The game read or null if there are no more games
+     * @throws IOException
+     * @throws PgnException If the game has a move that is not legal or can not be read, or a ) or } that closes
+     *         nothing. The moves before it are left made in the game of the partial game, which is the given game
+     *         unless the game has a FEN tag.
+     */
+    public PgnGame readGame(ChessGame game) throws IOException {
+        return readGame(game, true);
+    }
+
+    /**
+     * Reads the text of the next game (its tags and moves) without making any of its moves. The text can be read
+     * again later with its own PgnReader, so games can be split up here and replayed somewhere else.
+     *
+     * @return The text of the game or null if there are no more games
+     * @throws IOException
+     */
+    public String readGameText() throws IOException {
+        if (skipWhitespace() < 0)
+            return null;
+
+        gameText = new StringBuilder(1024);
+        try {
+            readGame(null, false);
+            return gameText.toString();
+        } finally {
+            gameText = null;
+        }
+    }
+
+    /**
+     * @return The number of games read so far
+     */
+    public int getGameNumber() {
+        return gameNumber;
+    }
+
+    /**
+     * Starts reading from another input, so one reader can be used for many inputs
+     *
+     * @param reader
+     * @param gameNumber The number of games before the first game in the input
+     */
+    void reset(Reader reader, int gameNumber) {
+        this.reader = reader;
+        this.gameNumber = gameNumber;
+        bufferSize = 0;
+        bufferIndex = 0;
+    }
+
+    private PgnGame readGame(ChessGame startingGame, boolean makeMoves) throws IOException {
+        Map<String, String> tags = new LinkedHashMap<>();
+
+        int c = skipWhitespace();
+        if (c < 0)
+            return null;
+
+        gameNumber++;
+
+        while (c == '[') {
+            readTag(tags);
+            c = skipWhitespace();
+        }
+
+        ChessGame game = null;
+        String result = null;
+        String error = null;
+
+        if (makeMoves && tags.containsKey("FEN")) {
+            try {
+                game = ChessGame.fromFen(tags.get("FEN"));
+            } catch (IllegalArgumentException e) {
+                //the moves are still skipped so the next game is read from its start
+                error = e.getMessage() + " in game " + gameNumber;
+            }
+        }
+        else if (makeMoves) {
+            game = startingGame != null ? startingGame : new ChessGame();
+        }
+
+        while (result == null) {
+            c = skipWhitespace();
+
+            if (c < 0 || c == '[') {
+                //the game ended without a result
+                break;
+            }
+            else if (c == '{') {
+                skipPast('}');
+            }
+            else if (c == ';') {
+                skipPast('\n');
+            }
+            else if (c == '(') {
+                skipVariation();
+            }
+            else if (c == '$') {
+                next();
+                readToken();
+            }
+            else if (c == ')' || c == '}') {
+                //a variation or comment that was never opened, it would not be read as part of a token
+                next();
+                if (error == null && game != null)
+                    error = "Unexpected " + (char) c + " in game " + gameNumber;
+            }
+            else {
+                readToken();
+                result = readResult();
+
+                if (result == null && error == null && game != null && tokenLength > 0) {
+                    int move = resolveMove(game);
+                    if (move < 0)
+                        error = "Illegal or unreadable move " + new String(token, 0, tokenLength) + " in game " + gameNumber;
+                    else
+                        game.makeMove(move);
+                }
+            }
+        }
+
+        if (result == null)
+            result = tags.getOrDefault("Result", "*");
+
+        if (error != null)
+            throw new PgnException(error, new PgnGame(gameNumber, tags, game, result, error));
+
+        return new PgnGame(gameNumber, tags, game, result);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Reads a tag pair such as [White "Kasparov, Garry"]
+     */
+    private void readTag(Map<String, String> tags) throws IOException {
+        next();
+
+        StringBuilder name = new StringBuilder();
+        int c = skipWhitespace();
+        while (c >= 0 && !Character.isWhitespace(c) && c != '"' && c != ']') {
+            name.append((char) next());
+            c = peek();
+        }
+
+        StringBuilder value = new StringBuilder();
+        c = skipWhitespace();
+        if (c == '"') {
+            next();
+            for (c = next(); c >= 0 && c != '"'; c = next()) {
+                if (c == '\\')
+                    c = next();
+                if (c >= 0)
+                    value.append((char) c);
+            }
+        }
+
+        skipPast(']');
+        tags.put(name.toString(), value.toString());
+    }
+
+    /**
+     * Reads the characters up to the next whitespace or special character into the token buffer
+     */
+    private void readToken() throws IOException {
+        tokenLength = 0;
+
+        int c = peek();
+        while (c >= 0 && !Character.isWhitespace(c) && "{}();[$".indexOf(c) < 0) {
+            next();
+            if (tokenLength < MAX_TOKEN_LENGTH)
+                token[tokenLength++] = (char) c;
+            c = peek();
+        }
+
+        //move numbers (e.g. 12. or 12...) can be written right in front of the move
+        int moveStart = 0;
+        while (moveStart < tokenLength && Character.isDigit(token[moveStart]))
+            moveStart++;
+        if (moveStart < tokenLength && token[moveStart] == '.') {
+            while (moveStart < tokenLength && token[moveStart] == '.')
+                moveStart++;
+
+            System.arraycopy(token, moveStart, token, 0, tokenLength - moveStart);
+            tokenLength -= moveStart;
+        }
+    }
+
+    /**
+     * @return The result in the token buffer or null if it is not a result
+     */
+    private String readResult() {
+        if (tokenEquals("1-0"))
+            return "1-0";
+        else if (tokenEquals("0-1"))
+            return "0-1";
+        else if (tokenEquals("1/2-1/2"))
+            return "1/2-1/2";
+        else if (tokenEquals("*"))
+            return "*";
+
+        return null;
+    }
+
+    private boolean tokenEquals(String text) {
+        if (tokenLength != text.length())
+            return false;
+
+        for (int i = 0; i < tokenLength; i++) {
+            if (token[i] != text.charAt(i))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Finds the legal move the move in the token buffer is written as
+     *
+     * @return The packed move or -1 if no legal move or more than one legal move matches it
+     */
+    private int resolveMove(ChessGame game) {
+        int length = tokenLength;
+
+        //leave out check, checkmate and annotation symbols
+        while (length > 0 && "+#!?".indexOf(token[length - 1]) >= 0)
+            length--;
+
+        game.generateLegalMoves(legalMoves);
+
+        if (isCastling(length, 3))
+            return findCastlingMove(PackedMove.KING_SIDE_CASTLE);
+        if (isCastling(length, 5))
+            return findCastlingMove(PackedMove.QUEEN_SIDE_CASTLE);
+
+        PieceType promotionType = null;
+        if (length > 2 && "NBRQ".indexOf(token[length - 1]) >= 0) {
+            promotionType = getPieceType(token[length - 1]);
+            length--;
+            if (token[length - 1] == '=')
+                length--;
+        }
+
+        if (length < 2)
+            return -1;
+
+        int toCol = token[length - 2] - 'a';
+        int toRow = ChessGame.BOARD_SIZE - (token[length - 1] - '0');
+        if (!isOnBoard(toRow, toCol))
+            return -1;
+
+        int start = 0;
+        PieceType pieceType = PieceType.PAWN;
+        if (PIECE_LETTERS.indexOf(token[0]) > 0) {
+            pieceType = getPieceType(token[0]);
+            start = 1;
+        }
+
+        //the column and/or row of the piece moved when more than one piece could move there
+        int fromCol = -1;
+        int fromRow = -1;
+        for (int i = start; i < length - 2; i++) {
+            char c = token[i];
+            if (c >= 'a' && c <= 'h')
+                fromCol = c - 'a';
+            else if (c >= '1' && c <= '8')
+                fromRow = ChessGame.BOARD_SIZE - (c - '0');
+            else if (c != 'x' && c != '-' && c != ':')
+                return -1;
+        }
+
+        int toIndex = BitBoard.toSpaceIndex(toRow, toCol);
+        int match = -1;
+
+        for (int i = 0; i < legalMoves.size(); i++) {
+            int move = legalMoves.get(i);
+            int from = PackedMove.getFrom(move);
+
+            if (PackedMove.getTo(move) == toIndex
+                    && PackedMove.getPieceType(move) == pieceType
+                    && PackedMove.getPromotionType(move) == promotionType
+                    && (fromCol < 0 || BitBoard.getCol(from) == fromCol)
+                    && (fromRow < 0 || BitBoard.getRow(from) == fromRow)) {
+                if (match >= 0)
+                    return -1;
+                match = move;
+            }
+        }
+
+        return match;
+    }
+
+    /**
+     * Castling is written as O-O or O-O-O (some files use zeros instead of the letter O)
+     */
+    private boolean isCastling(int length, int castlingLength) {
+        if (length != castlingLength)
+            return false;
+
+        for (int i = 0; i < length; i++) {
+            char expected = i % 2 == 0 ? 'O' : '-';
+            char c = token[i];
+            if (c != expected && !(expected == 'O' && c == '0'))
+                return false;
+        }
+
+        return true;
+    }
+
+    private int findCastlingMove(int castlingFlag) {
+        for (int i = 0; i < legalMoves.size(); i++) {
+            if (PackedMove.hasFlag(legalMoves.get(i), castlingFlag))
+                return legalMoves.get(i);
+        }
+
+        return -1;
+    }
+
+    private static PieceType getPieceType(char letter) {
+        return PieceType.values()[PIECE_LETTERS.indexOf(letter)];
+    }
+
+    private static boolean isOnBoard(int row, int col) {
+        return row >= 0 && row < ChessGame.BOARD_SIZE && col >= 0 && col < ChessGame.BOARD_SIZE;
+    }
+
+    /**
+     * Skips a variation, including any variations and comments inside of it
+     */
+    private void skipVariation() throws IOException {
+        next();
+        int depth = 1;
+
+        while (depth > 0) {
+            int c = next();
+            if (c < 0)
+                return;
+            else if (c == '(')
+                depth++;
+            else if (c == ')')
+                depth--;
+            else if (c == '{')
+                skipPast('}');
+            else if (c == ';')
+                skipPast('\n');
+        }
+    }
+
+    private void skipPast(char end) throws IOException {
+        int c = next();
+        while (c >= 0 && c != end)
+            c = next();
+    }
+
+    /**
+     * Skips whitespace (and lines starting with the % escape character)
+     *
+     * @return The next character without reading it, or -1 at the end of the input
+     */
+    private int skipWhitespace() throws IOException {
+        int c = peek();
+        while (c >= 0 && (Character.isWhitespace(c) || c == '%')) {
+            if (c == '%')
+                skipPast('\n');
+            else
+                next();
+            c = peek();
+        }
+
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (bufferIndex == bufferSize && !fillBuffer())
+            return -1;
+
+        return buffer[bufferIndex];
+    }
+
+    private int next() throws IOException {
+        if (bufferIndex == bufferSize && !fillBuffer())
+            return -1;
+
+        char c = buffer[bufferIndex++];
+        if (gameText != null)
+            gameText.append(c);
+
+        return c;
+    }
+
+    private boolean fillBuffer() throws IOException {
+        bufferSize = reader.read(buffer, 0, buffer.length);
+        bufferIndex = 0;
+
+        if (bufferSize < 0) {
+            bufferSize = 0;
+            return false;
+        }
+
+        return true;
+    }
+}
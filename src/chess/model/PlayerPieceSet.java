@@ -2,13 +2,16 @@ package chess.model;
 
 import chess.model.pieces.*;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
- * Holds a set of pieces for a single player
+ * Holds a set of pieces for a single player.
+ *
+ * The alive pieces are also indexed by the space they are on (see BitBoard) and by their type, so looking up
+ * a piece on a space, the pieces of a type or the king does not go through every piece. ChessGame keeps the
+ * space index up to date by calling movePiece whenever it moves a piece.
  */
 public class PlayerPieceSet {
 
@@ -16,50 +19,63 @@ public class PlayerPieceSet {
     private List<ChessPiece> alivePieces = new ArrayList<>();
     private List<ChessPiece> capturedPieces = new ArrayList<>();
 
+    //the alive piece on each space and where it is in alivePieces
+    private ChessPiece[] piecesBySpace = new ChessPiece[BitBoard.NUMBER_OF_SPACES];
+    private int[] aliveIndexBySpace = new int[BitBoard.NUMBER_OF_SPACES];
+    //the space of each piece in alivePieces
+    private int[] spaceByAliveIndex = new int[BitBoard.NUMBER_OF_SPACES];
+
+    private List<List<ChessPiece>> alivePiecesByType = new ArrayList<>();
+    private List<List<ChessPiece>> alivePiecesByTypeView = new ArrayList<>();
+
+    private int kingSpace = -1;
+
     public PlayerPieceSet(PieceColor pieceColor) {
         this.pieceColor = pieceColor;
+
+        for (int i = 0; i < PieceType.values().length; i++) {
+            List<ChessPiece> pieces = new ArrayList<>();
+            alivePiecesByType.add(pieces);
+            alivePiecesByTypeView.add(Collections.unmodifiableList(pieces));
+        }
     }
 
     /**
      * Adds a piece to the set of pieces
      *
-     * @param pieceType The class of the piece being added
+     * @param pieceType The type of the piece being added
      * @param position The position the piece should be added to
      *
      * @return The piece that was added
      */
-    public <T extends ChessPiece> T addPiece(Class<T> pieceType, Position position) {
+    public ChessPiece addPiece(PieceType pieceType, Position position) {
 
         if (positionIsOccupied(position))
             throw new RuntimeException("That position already has a piece");
 
-        T piece = null;
-
-        try {
-            Constructor constructor =  pieceType.getConstructor(new Class[] { PieceColor.class });
-            piece = (T) constructor.newInstance(pieceColor);
-            piece.setPieceColor(pieceColor);
-            piece.setPosition(position);
-        } catch (NoSuchMethodException e) {
-            e.printStackTrace();
-        } catch (IllegalAccessException e) {
-            e.printStackTrace();
-        } catch (InstantiationException e) {
-            e.printStackTrace();
-        } catch (InvocationTargetException e) {
-            e.printStackTrace();
-        }
-
-        this.alivePieces.add(piece);
+        ChessPiece piece = PieceFactory.create(pieceType, pieceColor, position);
+        addAlivePiece(piece, alivePieces.size());
 
         return piece;
     }
 
+    /**
+     * Adds a piece to the set of pieces
+     *
+     * @param pieceType The class of the piece being added
+     * @param position The position the piece should be added to
+     *
+     * @return The piece that was added
+     */
+    public <T extends ChessPiece> T addPiece(Class<T> pieceType, Position position) {
+        return pieceType.cast(addPiece(PieceFactory.getPieceType(pieceType), position));
+    }
+
     public void addPiece(ChessPiece piece) {
         if (piece.getPosition() == null)
             throw new IllegalArgumentException("Piece must already have its position set");
         else
-            this.alivePieces.add(piece);
+            addAlivePiece(piece, alivePieces.size());
     }
 
     public <T extends ChessPiece> List<ChessPiece> getCapturedPiecesOfType(Class<T> pieceType) {
@@ -75,25 +91,22 @@ public class PlayerPieceSet {
     }
 
     public <T extends ChessPiece> List<ChessPiece> getAlivePiecesOfType(Class<T> pieceType) {
+        return getAlivePiecesOfType(PieceFactory.getPieceType(pieceType));
+    }
 
-        List<ChessPiece> selectedPieces = new ArrayList<>();
-
-        for (ChessPiece piece : alivePieces) {
-            if (piece.getClass() == pieceType)
-                selectedPieces.add(piece);
-        }
-
-        return selectedPieces;
+    /**
+     * Gets the alive pieces of a type. The list can not be changed and always reflects the current pieces.
+     *
+     * @param pieceType
+     * @return
+     */
+    public List<ChessPiece> getAlivePiecesOfType(PieceType pieceType) {
+        return alivePiecesByTypeView.get(pieceType.ordinal());
     }
 
     public <T extends ChessPiece> List<ChessPiece> getAllPiecesOfType(Class<T> pieceType) {
 
-        List<ChessPiece> selectedPieces = new ArrayList<>();
-
-        for (ChessPiece piece : alivePieces) {
-            if (piece.getClass() == pieceType)
-                selectedPieces.add(piece);
-        }
+        List<ChessPiece> selectedPieces = new ArrayList<>(getAlivePiecesOfType(pieceType));
 
         for (ChessPiece piece : capturedPieces) {
             if (piece.getClass() == pieceType)
@@ -120,29 +133,151 @@ public class PlayerPieceSet {
     }
 
     private boolean positionIsOccupied(Position position) {
-        for (ChessPiece piece : alivePieces) {
-            if (piece.getPosition().equals(position))
-                return true;
+        return getPieceAtPosition(position) != null;
+    }
+
+    public ChessPiece getPieceAtPosition(Position position) {
+        return piecesBySpace[position.getIndex()];
+    }
+
+    /**
+     * Gets the position of the king or null if the set has no king
+     *
+     * @return
+     */
+    public Position getKingPosition() {
+        return kingSpace < 0 ? null : Position.of(kingSpace);
+    }
+
+    /**
+     * Moves the piece on a space to another space in the space index. This must be called whenever
+     * a piece of this set is moved so that the pieces can be looked up by their space.
+     *
+     * @param from
+     * @param to
+     */
+    public void movePiece(Position from, Position to) {
+        int fromSpace = from.getIndex();
+        int toSpace = to.getIndex();
+        ChessPiece piece = piecesBySpace[fromSpace];
+        if (piece == null)
+            throw new IllegalArgumentException("There is no piece in this players set on that position");
+
+        int aliveIndex = aliveIndexBySpace[fromSpace];
+        piecesBySpace[fromSpace] = null;
+        piecesBySpace[toSpace] = piece;
+        aliveIndexBySpace[toSpace] = aliveIndex;
+        spaceByAliveIndex[aliveIndex] = toSpace;
+
+        if (kingSpace == fromSpace)
+            kingSpace = toSpace;
+    }
+
+    public void capture(ChessPiece piece) {
+        removeAlivePiece(piece);
+        capturedPieces.add(piece);
+    }
+
+    /**
+     * Brings a captured piece back to life (used when taking back a move)
+     *
+     * @param piece The captured piece
+     * @param index Where the piece was in the list of alive pieces before it was captured
+     */
+    public void restore(ChessPiece piece, int index) {
+        //captured pieces are brought back in the opposite order that they were captured
+        int capturedIndex = capturedPieces.size() - 1;
+        if (capturedIndex < 0 || capturedPieces.get(capturedIndex) != piece)
+            capturedIndex = capturedPieces.indexOf(piece);
+
+        if (capturedIndex < 0)
+            throw new IllegalArgumentException("That piece has not been captured");
+
+        capturedPieces.remove(capturedIndex);
+        addAlivePiece(piece, index);
+    }
+
+    /**
+     * Removes a piece from the set without capturing it (used when taking back a pawn promotion)
+     *
+     * @param piece
+     */
+    public void removePiece(ChessPiece piece) {
+        removeAlivePiece(piece);
+    }
+
+    /**
+     * Gets where a piece is in the list of alive pieces
+     *
+     * @param piece
+     * @return The index of the piece or -1 if it is not alive in this set
+     */
+    public int indexOfAlivePiece(ChessPiece piece) {
+        Position position = piece.getPosition();
+        if (position != null && piecesBySpace[position.getIndex()] == piece)
+            return aliveIndexBySpace[position.getIndex()];
+
+        //the piece was moved without telling the set
+        for (int i = 0; i < alivePieces.size(); i++) {
+            if (alivePieces.get(i) == piece)
+                return i;
         }
 
-        return false;
+        return -1;
     }
 
-    public ChessPiece getPieceAtPosition(Position position) {
-        for (ChessPiece piece : alivePieces) {
-            if (piece.getPosition().equals(position))
-                return piece;
+    /**
+     * Adds a piece to the alive pieces at an index. The piece already at that index is moved to the end
+     * so that adding a piece back at the index it was removed from undoes removeAlivePiece.
+     */
+    private void addAlivePiece(ChessPiece piece, int index) {
+        int space = piece.getPosition().getIndex();
+
+        if (index < alivePieces.size()) {
+            ChessPiece displacedPiece = alivePieces.get(index);
+            int displacedSpace = spaceByAliveIndex[index];
+            alivePieces.add(displacedPiece);
+            aliveIndexBySpace[displacedSpace] = alivePieces.size() - 1;
+            spaceByAliveIndex[alivePieces.size() - 1] = displacedSpace;
+            alivePieces.set(index, piece);
+        }
+        else {
+            alivePieces.add(piece);
         }
 
-        return null;
+        piecesBySpace[space] = piece;
+        aliveIndexBySpace[space] = index;
+        spaceByAliveIndex[index] = space;
+        alivePiecesByType.get(piece.getPieceType().ordinal()).add(piece);
+
+        if (piece.getPieceType() == PieceType.KING)
+            kingSpace = space;
     }
 
-    public void capture(ChessPiece piece) {
-        boolean pieceRemoved = alivePieces.remove(piece);
-        if(!pieceRemoved)
+    /**
+     * Removes a piece from the alive pieces by moving the last alive piece into its place
+     */
+    private void removeAlivePiece(ChessPiece piece) {
+        int index = indexOfAlivePiece(piece);
+        if (index < 0)
             throw new IllegalArgumentException("That piece is not in this players set");
-        else
-            capturedPieces.add(piece);
+
+        int space = spaceByAliveIndex[index];
+        int lastIndex = alivePieces.size() - 1;
+        ChessPiece lastPiece = alivePieces.remove(lastIndex);
+
+        if (index != lastIndex) {
+            int lastSpace = spaceByAliveIndex[lastIndex];
+            alivePieces.set(index, lastPiece);
+            aliveIndexBySpace[lastSpace] = index;
+            spaceByAliveIndex[index] = lastSpace;
+        }
+
+        piecesBySpace[space] = null;
+        alivePiecesByType.get(piece.getPieceType().ordinal()).remove(piece);
+
+        if (kingSpace == space && piece.getPieceType() == PieceType.KING)
+            kingSpace = -1;
     }
 
 }
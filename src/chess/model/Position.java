@@ -2,44 +2,83 @@ package chess.model;
 
 /**
  * Holds a row and col value representing a space on the
- * chess board
+ * chess board.
+ *
+ * Positions can not be changed and there is only one instance for each of the 64 spaces, which
+ * are gotten through Position.of. This means positions can be compared with == and used as array
+ * indexes through getIndex (the same space index the BitBoard uses) without creating new objects.
  */
-public class Position {
+public final class Position {
 
-    int row;
-    int col;
+    private final static Position[] POSITIONS = new Position[ChessGame.BOARD_SIZE * ChessGame.BOARD_SIZE];
 
-    public Position(int row, int col) {
-        setRow(row);
-        setCol(col);
+    static {
+        for (int index = 0; index < POSITIONS.length; index++) {
+            POSITIONS[index] = new Position(index / ChessGame.BOARD_SIZE, index % ChessGame.BOARD_SIZE);
+        }
     }
 
-    public int getRow() {
-        return this.row;
-    }
+    private final int row;
+    private final int col;
+    private final int index;
 
-    public void setRow(int row) {
+    private Position(int row, int col) {
         this.row = row;
+        this.col = col;
+        this.index = row * ChessGame.BOARD_SIZE + col;
+    }
+
+    /**
+     * Gets the position of a space
+     *
+     * @param row
+     * @param col
+     * @return The position or null if the space is not on the board
+     */
+    public static Position of(int row, int col) {
+        if (row < 0 || row >= ChessGame.BOARD_SIZE || col < 0 || col >= ChessGame.BOARD_SIZE)
+            return null;
+
+        return POSITIONS[row * ChessGame.BOARD_SIZE + col];
+    }
+
+    /**
+     * Gets the position of a space from its index (row * 8 + column)
+     *
+     * @param index
+     * @return
+     */
+    public static Position of(int index) {
+        return POSITIONS[index];
+    }
+
+    public int getRow() {
+        return this.row;
     }
 
     public int getCol() {
         return col;
     }
 
-    public void setCol(int col) {
-        this.col = col;
+    /**
+     * Gets the index of the space (row * 8 + column)
+     * @return
+     */
+    public int getIndex() {
+        return index;
     }
 
     @Override
     public boolean equals(Object o) {
         if (!(o instanceof Position))
             return false;
-        else if (this.getRow() != ((Position) o).getRow())
-            return false;
-        else if (this.getCol() != ((Position) o).getCol())
-            return false;
         else
-            return true;
+            return this.getIndex() == ((Position) o).getIndex();
+    }
+
+    @Override
+    public int hashCode() {
+        return getIndex();
     }
 
     @Override
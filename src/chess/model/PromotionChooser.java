@@ -0,0 +1,17 @@
+package chess.model;
+
+/**
+ * Chooses what a pawn reaching the end of the board is promoted into when a move is made without saying
+ * (see ChessGame.makeMove). The user interface can ask the player, everything else can use ALWAYS_QUEEN.
+ */
+@FunctionalInterface
+public interface PromotionChooser {
+
+    PromotionChooser ALWAYS_QUEEN = pieceColor -> PieceType.QUEEN;
+
+    /**
+     * @param pieceColor The color of the pawn being promoted
+     * @return The type of piece to promote into (a queen, rook, bishop or knight)
+     */
+    PieceType choosePromotion(PieceColor pieceColor);
+}
@@ -0,0 +1,43 @@
+package chess.model;
+
+import chess.model.pieces.ChessPiece;
+
+/**
+ * Holds everything needed to take back a single move made on a ChessGame
+ */
+class UndoRecord {
+
+    final ChessPiece piece;
+    final Position from;
+    final Position to;
+    final boolean pieceHadMoved;
+    final PieceColor previousTurn;
+    long previousStateKey;
+    int previousCastlingRights;
+    int previousEnPassantSquare;
+    int previousIrreversiblePly;
+    int previousHalfmoveClock;
+    int previousFullmoveNumber;
+
+    ChessPiece capturedPiece;
+    Position capturePosition;
+    int capturedIndex = -1;
+
+    ChessPiece castledRook;
+    Position rookFrom;
+    Position rookTo;
+    boolean rookHadMoved;
+
+    ChessPiece promotedPiece;
+    int pawnIndex = -1;
+
+    boolean addedToMoveHistory;
+
+    UndoRecord(ChessPiece piece, Position from, Position to, PieceColor previousTurn) {
+        this.piece = piece;
+        this.from = from;
+        this.to = to;
+        this.pieceHadMoved = piece.hasMoved();
+        this.previousTurn = previousTurn;
+    }
+}
@@ -0,0 +1,83 @@
+package chess.model;
+
+import chess.model.pieces.ChessPiece;
+
+/**
+ * Random 64 bit keys used to hash a position (Zobrist hashing).
+ *
+ * The key of a position is the XOR of the key for every piece on its space, the side to move,
+ * the castling rights and the column of the pawn that can be captured En Passant. Since XOR
+ * undoes itself, a move only needs to XOR the keys of what it changed to update the key.
+ */
+public final class Zobrist {
+
+    public final static int WHITE_KING_SIDE = 1;
+    public final static int WHITE_QUEEN_SIDE = 2;
+    public final static int BLACK_KING_SIDE = 4;
+    public final static int BLACK_QUEEN_SIDE = 8;
+
+    private final static long[][] PIECE_KEYS = new long[PieceColor.values().length * PieceType.values().length][BitBoard.NUMBER_OF_SPACES];
+    private final static long[] CASTLING_KEYS = new long[16];
+    private final static long[] EN_PASSANT_KEYS = new long[ChessGame.BOARD_SIZE];
+    private final static long BLACK_TO_MOVE_KEY;
+
+    static {
+        //fixed seed so keys are the same on every run
+        long seed = 0x2545F4914F6CDD1DL;
+
+        for (long[] spaceKeys : PIECE_KEYS) {
+            for (int space = 0; space < spaceKeys.length; space++) {
+                seed = nextRandom(seed);
+                spaceKeys[space] = seed;
+            }
+        }
+
+        //no castling rights should not change the key
+        for (int rights = 1; rights < CASTLING_KEYS.length; rights++) {
+            seed = nextRandom(seed);
+            CASTLING_KEYS[rights] = seed;
+        }
+
+        for (int col = 0; col < EN_PASSANT_KEYS.length; col++) {
+            seed = nextRandom(seed);
+            EN_PASSANT_KEYS[col] = seed;
+        }
+
+        BLACK_TO_MOVE_KEY = nextRandom(seed);
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * xorshift64* step
+     */
+    private static long nextRandom(long seed) {
+        seed ^= seed >>> 12;
+        seed ^= seed << 25;
+        seed ^= seed >>> 27;
+        return seed * 0x2545F4914F6CDD1DL;
+    }
+
+    public static long pieceKey(ChessPiece piece, int spaceIndex) {
+        return PIECE_KEYS[piece.getPieceColor().ordinal() * PieceType.values().length + piece.getPieceType().ordinal()][spaceIndex];
+    }
+
+    /**
+     * @param castlingRights A mask of WHITE_KING_SIDE, WHITE_QUEEN_SIDE, BLACK_KING_SIDE and BLACK_QUEEN_SIDE
+     */
+    public static long castlingKey(int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    /**
+     * @param col The column of the pawn that can be captured En Passant or -1 if there is none
+     */
+    public static long enPassantKey(int col) {
+        return col < 0 ? 0L : EN_PASSANT_KEYS[col];
+    }
+
+    public static long sideToMoveKey(PieceColor color) {
+        return color == PieceColor.BLACK ? BLACK_TO_MOVE_KEY : 0L;
+    }
+}
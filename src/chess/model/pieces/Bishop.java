@@ -1,13 +1,12 @@
 package chess.model.pieces;
 
-import chess.model.BoardSpace;
+import chess.model.Attacks;
+import chess.model.BitBoard;
 import chess.model.ChessGame;
 import chess.model.PieceColor;
+import chess.model.PieceType;
 import chess.model.Position;
 
-import java.util.ArrayList;
-import java.util.List;
-
 
 public class Bishop extends ChessPiece {
 
@@ -21,106 +20,22 @@ public class Bishop extends ChessPiece {
     }
 
     @Override
-    public List<Position> getLegalMoves(ChessGame game, boolean removeMovesThatCauseCheck) {
-        List<Position> legalMoves = new ArrayList<>();
-    	int curCol;
-    	
-    	//add legal moves up and right
-    	curCol = 1;
-    	for (int i = this.getPosition().getRow() - 1; i >= 0 && curCol < 8; i--) {
-    		Position posToLookAt = new Position(i, this.getPosition().getCol() + curCol);
-    		BoardSpace spaceToLookAt = game.getBoardSpace(posToLookAt);
-    		
-    		if (spaceToLookAt == null){
-    			break;
-    		}
-    		if (spaceToLookAt.isEmpty()) {
-    			legalMoves.add(posToLookAt);
-    		}
-    		else if (spaceToLookAt.getPiece().getPieceColor() != this.getPieceColor()) {
-    			legalMoves.add(posToLookAt);
-    			break;
-    		}
-    		else {
-    			break;
-    		}
-    		
-    		curCol++;
-    	}
-    	
-    	//add legal moves up and left
-    	curCol = 1;
-    	for (int i = this.getPosition().getRow() - 1; i >= 0 && curCol < 8; i--) {
-    		Position posToLookAt = new Position(i, this.getPosition().getCol() - curCol);
-    		BoardSpace spaceToLookAt = game.getBoardSpace(posToLookAt);
-    		
-    		if (spaceToLookAt == null){
-    			break;
-    		}
-    		if (spaceToLookAt.isEmpty()) {
-    			legalMoves.add(posToLookAt);
-    		}
-    		else if (spaceToLookAt.getPiece().getPieceColor() != this.getPieceColor()) {
-    			legalMoves.add(posToLookAt);
-    			break;
-    		}
-    		else {
-    			break;
-    		}
-    		
-    		curCol++;
-    	}
-    	
-    	//add legal moves down and right
-    	curCol = 1;
-    	for (int i = this.getPosition().getRow() + 1; i < 8 && curCol < 8; i++) {
-    		Position posToLookAt = new Position(i, this.getPosition().getCol() + curCol);
-    		BoardSpace spaceToLookAt = game.getBoardSpace(posToLookAt);
-    		
-    		if (spaceToLookAt == null){
-    			break;
-    		}
-    		if (spaceToLookAt.isEmpty()) {
-    			legalMoves.add(posToLookAt);
-    		}
-    		else if (spaceToLookAt.getPiece().getPieceColor() != this.getPieceColor()) {
-    			legalMoves.add(posToLookAt);
-    			break;
-    		}
-    		else {
-    			break;
-    		}
-    		
-    		curCol++;
-    	}
-    	
-    	//add legal moves down and left
-    	curCol = 1;
-    	for (int i = this.getPosition().getRow() + 1; i < 8 && curCol < 8; i++) {
-    		Position posToLookAt = new Position(i, this.getPosition().getCol() - curCol);
-    		BoardSpace spaceToLookAt = game.getBoardSpace(posToLookAt);
-    		
-    		if (spaceToLookAt == null){
-    			break;
-    		}
-    		if (spaceToLookAt.isEmpty()) {
-    			legalMoves.add(posToLookAt);
-    		}
-    		else if (spaceToLookAt.getPiece().getPieceColor() != this.getPieceColor()) {
-    			legalMoves.add(posToLookAt);
-    			break;
-    		}
-    		else {
-    			break;
-    		}
-    		
-    		curCol++;
-    	}    	
-    	
-    	if (removeMovesThatCauseCheck)
-    		removeMovesThatCauseCheck(game, legalMoves);
-    	
-    	return legalMoves;
+    public long getMoveMask(ChessGame game, boolean removeMovesThatCauseCheck) {
+        BitBoard bitBoard = game.getBitBoard();
+        int spaceIndex = BitBoard.toSpaceIndex(getPosition());
+
+        //look up every space the bishop attacks and leave out the ones with its own pieces
+        long moves = Attacks.bishopAttacks(spaceIndex, bitBoard.getOccupancy()) & ~bitBoard.getOccupancy(getPieceColor());
+
+        if (removeMovesThatCauseCheck)
+            moves &= game.getLegalMoveMask(getPosition());
+
+        return moves;
+    }
+
+    @Override
+    public PieceType getPieceType() {
+        return PieceType.BISHOP;
     }
 
     @Override
@@ -1,10 +1,14 @@
 package chess.model.pieces;
 
+import chess.model.BitBoard;
 import chess.model.ChessGame;
+import chess.model.MoveList;
+import chess.model.PackedMove;
 import chess.model.PieceColor;
+import chess.model.PieceType;
 import chess.model.Position;
 
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -45,6 +49,14 @@ public abstract class ChessPiece {
         return hasMoved;
     }
 
+    /**
+     * Overrides whether this piece has moved (used when taking back a move)
+     * @param hasMoved
+     */
+    public void setHasMoved(boolean hasMoved) {
+        this.hasMoved = hasMoved;
+    }
+
     /**
      * Checks if the current move is a legal move for this piece
      * @param position
@@ -60,7 +72,60 @@ public abstract class ChessPiece {
      * @param removeMovesThatCauseCheck
      * @return
      */
-    public abstract List<Position> getLegalMoves(ChessGame game, boolean removeMovesThatCauseCheck);
+    public List<Position> getLegalMoves(ChessGame game, boolean removeMovesThatCauseCheck) {
+        return toPositions(getMoveMask(game, removeMovesThatCauseCheck));
+    }
+
+    /**
+     * Adds all the legal moves for a piece to a move list as packed moves (see PackedMove).
+     * A move onto the last row by a pawn is added once for each piece it can be promoted into.
+     * Nothing is allocated so the same move list can be reused for every position.
+     *
+     * @param game
+     * @param removeMovesThatCauseCheck
+     * @param moves The move list to add to
+     * @return The number of moves added
+     */
+    public int getLegalMoves(ChessGame game, boolean removeMovesThatCauseCheck, MoveList moves) {
+        int sizeBefore = moves.size();
+        int from = BitBoard.toSpaceIndex(getPosition());
+
+        long spaces = getMoveMask(game, removeMovesThatCauseCheck);
+        while (spaces != 0) {
+            addMove(game, moves, from, Long.numberOfTrailingZeros(spaces));
+            spaces &= spaces - 1;
+        }
+
+        return moves.size() - sizeBefore;
+    }
+
+    /**
+     * Gets the spaces a piece can move to as a mask of spaces (see BitBoard)
+     * @param game
+     * @param removeMovesThatCauseCheck
+     * @return
+     */
+    public abstract long getMoveMask(ChessGame game, boolean removeMovesThatCauseCheck);
+
+    /**
+     * Adds a single move of this piece to a move list
+     *
+     * @param game
+     * @param moves
+     * @param from The space index moved from
+     * @param to The space index moved to
+     */
+    protected void addMove(ChessGame game, MoveList moves, int from, int to) {
+        ChessPiece captured = game.getBitBoard().getPiece(to);
+        moves.add(PackedMove.encode(from, to, getPieceType(), getPieceColor(),
+                captured == null ? null : captured.getPieceType(), null, 0));
+    }
+
+    /**
+     * Gets the type of the piece
+     * @return
+     */
+    public abstract PieceType getPieceType();
 
     /**
      * Gets the notation letter for the piece
@@ -89,21 +154,21 @@ public abstract class ChessPiece {
     }
 
     /**
-     * Removes all moves that cause check to its own king
+     * Turns a mask of spaces (see BitBoard) into a list of positions
      *
-     * @param game
-     * @param currLegalMoves
+     * @param spaces
+     * @return
      */
-    protected void removeMovesThatCauseCheck(ChessGame game, List<Position> currLegalMoves) {
-        Iterator iter = currLegalMoves.iterator();
-        while (iter.hasNext()) {
-            Position move = (Position) iter.next();
-
-            if (move == null)
-                iter.remove();
-            else if (game.moveCausesCheckForItsOwnKing(this.getPosition(), move))
-                iter.remove();
+    protected static List<Position> toPositions(long spaces) {
+        List<Position> positions = new ArrayList<>(Long.bitCount(spaces));
+
+        while (spaces != 0) {
+            int spaceIndex = Long.numberOfTrailingZeros(spaces);
+            positions.add(Position.of(spaceIndex));
+            spaces &= spaces - 1;
         }
+
+        return positions;
     }
 
 }
@@ -1,13 +1,14 @@
 package chess.model.pieces;
 
+import chess.model.Attacks;
+import chess.model.BitBoard;
 import chess.model.BoardSpace;
 import chess.model.ChessGame;
+import chess.model.MoveList;
+import chess.model.PackedMove;
 import chess.model.PieceColor;
+import chess.model.PieceType;
 import chess.model.Position;
-import chess.view.twod.Board;
-
-import java.util.ArrayList;
-import java.util.List;
 
 
 public class King extends ChessPiece  {
@@ -23,72 +24,38 @@ public class King extends ChessPiece  {
     }
 
     @Override
-    public List<Position> getLegalMoves(ChessGame game, boolean removeMovesThatCauseCheck) {
-        List<Position> legalMoves = new ArrayList<>();
-
-        int currRow = getPosition().getRow();
-        int currCol = getPosition().getCol();
-
-        //check all spaces around the king
-        BoardSpace upperLeft = game.getBoardSpace(new Position(currRow - 1, currCol - 1));
-        BoardSpace upper = game.getBoardSpace(new Position(currRow - 1, currCol));
-        BoardSpace upperRight = game.getBoardSpace(new Position(currRow - 1, currCol + 1));
-        BoardSpace left = game.getBoardSpace(new Position(currRow, currCol - 1));
-        BoardSpace right = game.getBoardSpace(new Position(currRow, currCol + 1));
-        BoardSpace bottomLeft = game.getBoardSpace(new Position(currRow + 1, currCol - 1));
-        BoardSpace bottom = game.getBoardSpace(new Position(currRow + 1, currCol));
-        BoardSpace bottomRight = game.getBoardSpace(new Position(currRow + 1, currCol + 1));
-
-        if (spaceIsEmptyOrCanBeCaptured(upperLeft)) {
-            legalMoves.add(upperLeft.getPosition());
-        }
-
-        if (spaceIsEmptyOrCanBeCaptured(upper)) {
-            legalMoves.add(upper.getPosition());
-        }
-
-        if (spaceIsEmptyOrCanBeCaptured(upperRight)) {
-            legalMoves.add(upperRight.getPosition());
-        }
-
-        if (spaceIsEmptyOrCanBeCaptured(left)) {
-            legalMoves.add(left.getPosition());
-        }
-
-        if (spaceIsEmptyOrCanBeCaptured(right)) {
-            legalMoves.add(right.getPosition());
-        }
-
-        if (spaceIsEmptyOrCanBeCaptured(bottomLeft)) {
-            legalMoves.add(bottomLeft.getPosition());
-        }
+    public long getMoveMask(ChessGame game, boolean removeMovesThatCauseCheck) {
+        BitBoard bitBoard = game.getBitBoard();
+        int spaceIndex = BitBoard.toSpaceIndex(getPosition());
 
-        if (spaceIsEmptyOrCanBeCaptured(bottom)) {
-            legalMoves.add(bottom.getPosition());
-        }
+        //look up all spaces around the king and leave out the ones with its own pieces
+        long moves = Attacks.kingAttacks(spaceIndex) & ~bitBoard.getOccupancy(getPieceColor());
 
-        if (spaceIsEmptyOrCanBeCaptured(bottomRight)) {
-            legalMoves.add(bottomRight.getPosition());
-        }
+        if (removeMovesThatCauseCheck)
+            moves &= game.getLegalMoveMask(getPosition());
 
+        //castling already makes sure the king is not in check and does not move through or into check
         //check for king side castling
         if (canKingSideCastle(game)) {
-            legalMoves.add(new Position(currRow, currCol + 2));
+            moves |= 1L << (spaceIndex + 2);
         }
 
         //check for queen side castling
         if (canQueenSideCastle(game)) {
-            legalMoves.add(new Position(currRow, currCol -3));
+            moves |= 1L << (spaceIndex - 2);
         }
 
-        if (removeMovesThatCauseCheck)
-            removeMovesThatCauseCheck(game, legalMoves);
-
-        return legalMoves;
+        return moves;
     }
 
-    private boolean spaceIsEmptyOrCanBeCaptured(BoardSpace space) {
-        return space != null && (space.isEmpty() || space.getPiece().getPieceColor() != this.getPieceColor());
+    @Override
+    protected void addMove(ChessGame game, MoveList moves, int from, int to) {
+        if (to == from + 2)
+            moves.add(PackedMove.encode(from, to, PieceType.KING, getPieceColor(), null, null, PackedMove.KING_SIDE_CASTLE));
+        else if (to == from - 2)
+            moves.add(PackedMove.encode(from, to, PieceType.KING, getPieceColor(), null, null, PackedMove.QUEEN_SIDE_CASTLE));
+        else
+            super.addMove(game, moves, from, to);
     }
 
     private boolean canKingSideCastle(ChessGame game) {
@@ -97,51 +64,78 @@ public class King extends ChessPiece  {
         int currRow = getPosition().getRow();
         int currCol = getPosition().getCol();
 
-        BoardSpace oneToTheRight = game.getBoardSpace(new Position(currRow, currCol + 1));
-        BoardSpace twoToTheRight = game.getBoardSpace(new Position(currRow, currCol + 2));
-        BoardSpace rooksPosition = game.getBoardSpace(new Position(currRow, currCol + 3));
+        BoardSpace oneToTheRight = game.getBoardSpace(Position.of(currRow, currCol + 1));
+        BoardSpace twoToTheRight = game.getBoardSpace(Position.of(currRow, currCol + 2));
+        BoardSpace rooksPosition = game.getBoardSpace(Position.of(currRow, currCol + 3));
 
         if (oneToTheRight == null || twoToTheRight == null || rooksPosition == null)
             canCastle = false;
-        else if (this.hasMoved() || (rooksPosition.getPiece() != null && rooksPosition.getPiece().hasMoved()))
+        else if (!game.hasKingSideCastlingRight(getPieceColor()) || !isOnStartingSpace() || !hasRook(rooksPosition))
             canCastle = false;
         else if (oneToTheRight.isOccupied() || twoToTheRight.isOccupied())
             canCastle = false;
-        else if (game.moveCausesCheckForItsOwnKing(this.getPosition(), oneToTheRight.getPosition()))
+        else if (game.isInCheck(getPieceColor()))
             canCastle = false;
-        else if (game.moveCausesCheckForItsOwnKing(this.getPosition(), twoToTheRight.getPosition()))
+        else if (game.isSpaceAttacked(oneToTheRight.getPosition(), getOpposingColor()))
+            canCastle = false;
+        else if (game.isSpaceAttacked(twoToTheRight.getPosition(), getOpposingColor()))
             canCastle = false;
 
         return  canCastle;
     }
 
+    /**
+     * The king moves 2 spaces to the left. The space next to the rook has to be empty
+     * but it is allowed to be attacked since the king does not pass over it
+     */
     private boolean canQueenSideCastle(ChessGame game) {
         boolean canCastle = true;
 
         int currRow = getPosition().getRow();
         int currCol = getPosition().getCol();
 
-        BoardSpace oneToTheLeft = game.getBoardSpace(new Position(currRow, currCol - 1));
-        BoardSpace twoToTheLeft = game.getBoardSpace(new Position(currRow, currCol - 2));
-        BoardSpace threeToTheLeft = game.getBoardSpace(new Position(currRow, currCol - 3));
-        BoardSpace rooksPosition = game.getBoardSpace(new Position(currRow, currCol - 4));
+        BoardSpace oneToTheLeft = game.getBoardSpace(Position.of(currRow, currCol - 1));
+        BoardSpace twoToTheLeft = game.getBoardSpace(Position.of(currRow, currCol - 2));
+        BoardSpace threeToTheLeft = game.getBoardSpace(Position.of(currRow, currCol - 3));
+        BoardSpace rooksPosition = game.getBoardSpace(Position.of(currRow, currCol - 4));
 
         if (oneToTheLeft == null || twoToTheLeft == null || threeToTheLeft == null || rooksPosition == null)
             canCastle = false;
-        else if (this.hasMoved() || (rooksPosition.getPiece() != null && rooksPosition.getPiece().hasMoved()))
+        else if (!game.hasQueenSideCastlingRight(getPieceColor()) || !isOnStartingSpace() || !hasRook(rooksPosition))
             canCastle = false;
         else if (oneToTheLeft.isOccupied() || twoToTheLeft.isOccupied() || threeToTheLeft.isOccupied())
             canCastle = false;
-        else if (game.moveCausesCheckForItsOwnKing(this.getPosition(), oneToTheLeft.getPosition()))
+        else if (game.isInCheck(getPieceColor()))
             canCastle = false;
-        else if (game.moveCausesCheckForItsOwnKing(this.getPosition(), twoToTheLeft.getPosition()))
+        else if (game.isSpaceAttacked(oneToTheLeft.getPosition(), getOpposingColor()))
             canCastle = false;
-        else if (game.moveCausesCheckForItsOwnKing(this.getPosition(), threeToTheLeft.getPosition()))
+        else if (game.isSpaceAttacked(twoToTheLeft.getPosition(), getOpposingColor()))
             canCastle = false;
 
         return  canCastle;
     }
 
+    private PieceColor getOpposingColor() {
+        return getPieceColor() == PieceColor.WHITE ? PieceColor.BLACK : PieceColor.WHITE;
+    }
+
+    /**
+     * The castling rights are only kept while the king has not moved, but pieces can also be placed on the board directly
+     */
+    private boolean isOnStartingSpace() {
+        return getPosition().getCol() == 4 && getPosition().getRow() == (getPieceColor() == PieceColor.WHITE ? ChessGame.BOARD_SIZE - 1 : 0);
+    }
+
+    private boolean hasRook(BoardSpace space) {
+        ChessPiece piece = space.getPiece();
+        return piece != null && piece.getClass() == Rook.class && piece.getPieceColor() == getPieceColor();
+    }
+
+    @Override
+    public PieceType getPieceType() {
+        return PieceType.KING;
+    }
+
     @Override
     public String getNotationLetter() {
         return "K";
@@ -1,13 +1,12 @@
 package chess.model.pieces;
 
-import chess.model.BoardSpace;
+import chess.model.Attacks;
+import chess.model.BitBoard;
 import chess.model.ChessGame;
 import chess.model.PieceColor;
+import chess.model.PieceType;
 import chess.model.Position;
 
-import java.util.ArrayList;
-import java.util.List;
-
 
 public class Knight extends ChessPiece  {
 
@@ -21,33 +20,21 @@ public class Knight extends ChessPiece  {
     }
 
     @Override
-    public List<Position> getLegalMoves(ChessGame game, boolean removeMovesThatCauseCheck) {
-        List<Position> legalMoves = new ArrayList<>();
-
-		List<Position> possibleMoves = new ArrayList<>();
-
-		possibleMoves.add(new Position(this.getPosition().getRow()-2, this.getPosition().getCol()-1));
-		possibleMoves.add(new Position(this.getPosition().getRow()-2, this.getPosition().getCol()+1));
-		possibleMoves.add(new Position(this.getPosition().getRow()+2, this.getPosition().getCol()-1));
-		possibleMoves.add(new Position(this.getPosition().getRow()+2, this.getPosition().getCol()+1));
-		possibleMoves.add(new Position(this.getPosition().getRow()-1, this.getPosition().getCol()-2));
-		possibleMoves.add(new Position(this.getPosition().getRow()-1, this.getPosition().getCol()+2));
-		possibleMoves.add(new Position(this.getPosition().getRow()+1, this.getPosition().getCol()-2));
-		possibleMoves.add(new Position(this.getPosition().getRow()+1, this.getPosition().getCol()+2));
-
-		for (Position move : possibleMoves) {
-			if (move != null && move.getCol() >= 0 && move.getCol() < 8 && move.getRow() >=0 && move.getRow() < 8) {
-				BoardSpace spaceToLookAt = game.getBoardSpace(move);
-
-				if (spaceToLookAt.isEmpty() || spaceToLookAt.getPiece().getPieceColor() != this.getPieceColor())
-					legalMoves.add(move);
-			}
-		}
-		
-		if (removeMovesThatCauseCheck)
-    		removeMovesThatCauseCheck(game, legalMoves);
-    	
-        return legalMoves;
+    public long getMoveMask(ChessGame game, boolean removeMovesThatCauseCheck) {
+        BitBoard bitBoard = game.getBitBoard();
+
+        //look up the spaces the knight jumps to and leave out the ones with its own pieces
+        long moves = Attacks.knightAttacks(BitBoard.toSpaceIndex(getPosition())) & ~bitBoard.getOccupancy(getPieceColor());
+
+        if (removeMovesThatCauseCheck)
+            moves &= game.getLegalMoveMask(getPosition());
+
+        return moves;
+    }
+
+    @Override
+    public PieceType getPieceType() {
+        return PieceType.KNIGHT;
     }
 
     @Override
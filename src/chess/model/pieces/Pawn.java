@@ -1,19 +1,18 @@
 package chess.model.pieces;
 
-import chess.model.BoardSpace;
+import chess.model.Attacks;
+import chess.model.BitBoard;
 import chess.model.ChessGame;
+import chess.model.MoveList;
+import chess.model.PackedMove;
 import chess.model.PieceColor;
+import chess.model.PieceType;
 import chess.model.Position;
-import chess.view.twod.PawnPromotionDialog;
-
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
 
 
 public class Pawn extends ChessPiece  {
 
-    private boolean eligibleForEnPassant = false;
+    private final static PieceType[] PROMOTION_TYPES = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
 
     public Pawn(PieceColor pieceColor) {
         this.setPieceColor(pieceColor);
@@ -24,6 +23,11 @@ public class Pawn extends ChessPiece  {
         this.setPosition(position);
     }
 
+    @Override
+    public PieceType getPieceType() {
+        return PieceType.PAWN;
+    }
+
     @Override
     public String getNotationLetter() {
         return "";
@@ -36,29 +40,6 @@ public class Pawn extends ChessPiece  {
     }
 
 
-    /**
-     * Checks if this piece is eligible to have the En Passant move used against it
-     *
-     * @return
-     */
-    public boolean isEligibleForEnPassant() {
-        return this.eligibleForEnPassant;
-    }
-
-    public void setEligibleForEnPassant(boolean eligible) {
-        this.eligibleForEnPassant = eligible;
-    }
-
-    @Override
-    public void moveTo(Position position) {
-
-        //check if the piece will move forward 2 spaces. If yes it is now eligible for En Passant
-        if (Math.abs(this.getPosition().getRow() - position.getRow()) == 2)
-            setEligibleForEnPassant(true);
-
-        super.moveTo(position);
-    }
-
     /**
      * Pawns can make the following moves
      *
@@ -76,83 +57,70 @@ public class Pawn extends ChessPiece  {
      * @return
      */
     @Override
-    public List<Position> getLegalMoves(ChessGame game, boolean removeMovesThatCauseCheck) {
-        //used to determine which direction the pawn can move based on its color
-        int direction = this.getPieceColor() == PieceColor.BLACK ? 1 : -1;
-        //how many spaces forward it can move based on its color
-        int spacesCanMove = hasMoved() ? 1 : 2;
-
-        int currentRow = this.getPosition().getRow();
-        int currentColumn = this.getPosition().getCol();
-
-        List<Position> legalMoves = new ArrayList<>();
-
-        //add any spaces 1 ahead (or 2 if first move) that arent blocked
-        for (int i = 1; i <= spacesCanMove; i++) {
-            int newRow = currentRow + (i * direction);
-            Position spaceBeingChecked = new Position(newRow, currentColumn);
-            BoardSpace boardSpaceBeingChecked = game.getBoardSpace(spaceBeingChecked);
-
-            if (boardSpaceBeingChecked != null && !game.getBoardSpace(spaceBeingChecked).isOccupied()) {
-                    legalMoves.add(spaceBeingChecked);
-            }
-            else
-                break;
+    public long getMoveMask(ChessGame game, boolean removeMovesThatCauseCheck) {
+        BitBoard bitBoard = game.getBitBoard();
+        long occupied = bitBoard.getOccupancy();
+
+        //used to determine which direction the pawn can move based on its color (in space indexes)
+        int direction = this.getPieceColor() == PieceColor.BLACK ? ChessGame.BOARD_SIZE : -ChessGame.BOARD_SIZE;
+        int spaceIndex = BitBoard.toSpaceIndex(getPosition());
+
+        long moves = 0L;
+
+        //add the space 1 ahead (and 2 ahead if first move) if they arent blocked
+        int oneAhead = spaceIndex + direction;
+        if (isOnBoard(oneAhead) && (occupied & (1L << oneAhead)) == 0) {
+            moves |= 1L << oneAhead;
+
+            int twoAhead = oneAhead + direction;
+            if (!hasMoved() && isOnBoard(twoAhead) && (occupied & (1L << twoAhead)) == 0)
+                moves |= 1L << twoAhead;
         }
 
         //check if any spaces have a piece that can be captured
-        Position positionForCapture;
-        BoardSpace captureSpace;
-
-        if (currentColumn - 1 >= 0) {
-            //check for regular capture
-            positionForCapture = new Position(currentRow + direction, currentColumn - 1);
-            captureSpace = game.getBoardSpace(positionForCapture);
-            if(captureSpace != null && captureSpace.isOccupied() && captureSpace.getPiece().getPieceColor() != this.getPieceColor()){
-                legalMoves.add(positionForCapture);
-            }
-
-            //check for En Passant
-            Position positionToCheck = new Position(currentRow, currentColumn - 1);
-            BoardSpace spaceToCheck = game.getBoardSpace(positionToCheck);
-            if (spaceToCheck != null && spaceToCheck.isOccupied() && spaceToCheck.getPiece() instanceof Pawn &&
-                    ((Pawn) spaceToCheck.getPiece()).isEligibleForEnPassant()) {
-                legalMoves.add(positionForCapture);
-            }
-        }
+        PieceColor opposingColor = getPieceColor() == PieceColor.WHITE ? PieceColor.BLACK : PieceColor.WHITE;
+        long captureSpaces = Attacks.pawnAttacks(getPieceColor(), spaceIndex);
+        moves |= captureSpaces & bitBoard.getOccupancy(opposingColor);
 
-        if (currentColumn + 1 < 8) {
-            //check for regular capture
-            positionForCapture = new Position(currentRow + direction, currentColumn + 1);
-            captureSpace = game.getBoardSpace(positionForCapture);
-            if(captureSpace != null && captureSpace.isOccupied() && captureSpace.getPiece().getPieceColor() != this.getPieceColor()){
-                legalMoves.add(positionForCapture);
-            }
-
-            //check for En Passant
-            Position positionToCheck = new Position(currentRow, currentColumn + 1);
-            BoardSpace spaceToCheck = game.getBoardSpace(positionToCheck);
-            if (spaceToCheck != null && spaceToCheck.isOccupied() && spaceToCheck.getPiece() instanceof Pawn &&
-                    ((Pawn) spaceToCheck.getPiece()).isEligibleForEnPassant()) {
-                legalMoves.add(positionForCapture);
-            }
-        }
+        //check for En Passant (only onto the space an opposing pawn passed over, which is on the 3rd row from the other side)
+        int enPassantSquare = game.getEnPassantSquare();
+        int enPassantRow = getPieceColor() == PieceColor.WHITE ? 2 : ChessGame.BOARD_SIZE - 3;
+        if (enPassantSquare >= 0 && BitBoard.getRow(enPassantSquare) == enPassantRow)
+            moves |= captureSpaces & (1L << enPassantSquare);
 
         if (removeMovesThatCauseCheck)
-            removeMovesThatCauseCheck(game, legalMoves);
+            moves &= game.getLegalMoveMask(getPosition());
 
-        return legalMoves;
+        return moves;
     }
 
-    public boolean deservesPromotion() {
-        return this.getPosition().getRow() == 0 || this.getPosition().getRow() == 7;
+    /**
+     * Adds a capture onto an empty space as an En Passant and a move onto the last row
+     * once for each piece the pawn can be promoted into
+     */
+    @Override
+    protected void addMove(ChessGame game, MoveList moves, int from, int to) {
+        BitBoard bitBoard = game.getBitBoard();
+        ChessPiece captured = bitBoard.getPiece(to);
+        PieceType capturedType = captured == null ? null : captured.getPieceType();
+
+        if (captured == null && BitBoard.getCol(from) != BitBoard.getCol(to)) {
+            moves.add(PackedMove.encode(from, to, PieceType.PAWN, getPieceColor(), PieceType.PAWN, null, PackedMove.EN_PASSANT));
+        }
+        else if (BitBoard.getRow(to) == 0 || BitBoard.getRow(to) == ChessGame.BOARD_SIZE - 1) {
+            for (PieceType promotionType : PROMOTION_TYPES)
+                moves.add(PackedMove.encode(from, to, PieceType.PAWN, getPieceColor(), capturedType, promotionType, 0));
+        }
+        else {
+            moves.add(PackedMove.encode(from, to, PieceType.PAWN, getPieceColor(), capturedType, null, 0));
+        }
     }
 
-    public ChessPiece promote() {
-        PawnPromotionDialog promotionDialog = new PawnPromotionDialog(getPieceColor());
-        ChessPiece selectedPromotion = promotionDialog.getResult();
-        selectedPromotion.setPosition(getPosition());
+    private static boolean isOnBoard(int spaceIndex) {
+        return spaceIndex >= 0 && spaceIndex < BitBoard.NUMBER_OF_SPACES;
+    }
 
-        return selectedPromotion;
+    public boolean deservesPromotion() {
+        return this.getPosition().getRow() == 0 || this.getPosition().getRow() == 7;
     }
 }
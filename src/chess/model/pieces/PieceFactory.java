@@ -0,0 +1,71 @@
+package chess.model.pieces;
+
+import chess.model.PieceColor;
+import chess.model.PieceType;
+import chess.model.Position;
+
+/**
+ * Creates pieces from their type
+ */
+public final class PieceFactory {
+
+    private PieceFactory() {
+    }
+
+    /**
+     * Creates a new piece that is not on the board
+     *
+     * @param type
+     * @param color
+     * @return
+     */
+    public static ChessPiece create(PieceType type, PieceColor color) {
+        switch (type) {
+            case PAWN: return new Pawn(color);
+            case KNIGHT: return new Knight(color);
+            case BISHOP: return new Bishop(color);
+            case ROOK: return new Rook(color);
+            case QUEEN: return new Queen(color);
+            case KING: return new King(color);
+            default: throw new IllegalArgumentException("Unknown piece type: " + type);
+        }
+    }
+
+    /**
+     * Creates a new piece on a position
+     *
+     * @param type
+     * @param color
+     * @param position
+     * @return
+     */
+    public static ChessPiece create(PieceType type, PieceColor color, Position position) {
+        ChessPiece piece = create(type, color);
+        piece.setPosition(position);
+
+        return piece;
+    }
+
+    /**
+     * Gets the type of the pieces created from a piece class
+     *
+     * @param pieceClass
+     * @return
+     */
+    public static PieceType getPieceType(Class<? extends ChessPiece> pieceClass) {
+        if (pieceClass == Pawn.class)
+            return PieceType.PAWN;
+        else if (pieceClass == Knight.class)
+            return PieceType.KNIGHT;
+        else if (pieceClass == Bishop.class)
+            return PieceType.BISHOP;
+        else if (pieceClass == Rook.class)
+            return PieceType.ROOK;
+        else if (pieceClass == Queen.class)
+            return PieceType.QUEEN;
+        else if (pieceClass == King.class)
+            return PieceType.KING;
+
+        throw new IllegalArgumentException("Unknown piece class: " + pieceClass);
+    }
+}
@@ -1,13 +1,12 @@
 package chess.model.pieces;
 
-import chess.model.BoardSpace;
+import chess.model.Attacks;
+import chess.model.BitBoard;
 import chess.model.ChessGame;
 import chess.model.PieceColor;
+import chess.model.PieceType;
 import chess.model.Position;
 
-import java.util.ArrayList;
-import java.util.List;
-
 
 public class Rook extends ChessPiece  {
 
@@ -22,93 +21,22 @@ public class Rook extends ChessPiece  {
     }
 
     @Override
-    public List<Position> getLegalMoves(ChessGame game, boolean removeMovesThatCauseCheck) {
-
-        List<Position> legalMoves = new ArrayList<>();
-
-        //add legal moves to the right
-        for (int i = this.getPosition().getCol() + 1; i < 8; i++) {
-            Position posToLookAt = new Position(this.getPosition().getRow(), i);
-            BoardSpace spaceToLookAt = game.getBoardSpace(posToLookAt);
-
-            if (spaceToLookAt == null) {
-                break;
-            }
-            if (spaceToLookAt.isEmpty()) {
-                legalMoves.add(posToLookAt);
-            }
-            else if (spaceToLookAt.getPiece().getPieceColor() != this.getPieceColor()) {
-                legalMoves.add(posToLookAt);
-                break;
-            }
-            else {
-                break;
-            }
-        }
-
-        //add legal moves to the left
-        for (int i = this.getPosition().getCol() - 1; i >= 0; i--) {
-            Position posToLookAt = new Position(this.getPosition().getRow(), i);
-            BoardSpace spaceToLookAt = game.getBoardSpace(posToLookAt);
-
-            if (spaceToLookAt == null) {
-                break;
-            }
-            if (spaceToLookAt.isEmpty()) {
-                legalMoves.add(posToLookAt);
-            }
-            else if (spaceToLookAt.getPiece().getPieceColor() != this.getPieceColor()) {
-                legalMoves.add(posToLookAt);
-                break;
-            }
-            else {
-                break;
-            }
-        }
+    public long getMoveMask(ChessGame game, boolean removeMovesThatCauseCheck) {
+        BitBoard bitBoard = game.getBitBoard();
+        int spaceIndex = BitBoard.toSpaceIndex(getPosition());
 
-        //add legal moves going up
-        for (int i = this.getPosition().getRow() - 1; i >= 0; i--) {
-            Position posToLookAt = new Position(i, this.getPosition().getCol());
-            BoardSpace spaceToLookAt = game.getBoardSpace(posToLookAt);
-
-            if (spaceToLookAt == null) {
-                break;
-            }
-            if (spaceToLookAt.isEmpty()) {
-                legalMoves.add(posToLookAt);
-            }
-            else if (spaceToLookAt.getPiece().getPieceColor() != this.getPieceColor()) {
-                legalMoves.add(posToLookAt);
-                break;
-            }
-            else {
-                break;
-            }
-        }
-
-        //add legal moves going down
-        for (int i = this.getPosition().getRow() + 1; i < 8; i++) {
-            Position posToLookAt = new Position(i, this.getPosition().getCol());
-            BoardSpace spaceToLookAt = game.getBoardSpace(posToLookAt);
-            if (spaceToLookAt == null) {
-                break;
-            }
-            else if (spaceToLookAt.isEmpty()) {
-                legalMoves.add(posToLookAt);
-            }
-            else if (spaceToLookAt.getPiece().getPieceColor() != this.getPieceColor()) {
-                legalMoves.add(posToLookAt);
-                break;
-            }
-            else {
-                break;
-            }
-        }
+        //look up every space the rook attacks and leave out the ones with its own pieces
+        long moves = Attacks.rookAttacks(spaceIndex, bitBoard.getOccupancy()) & ~bitBoard.getOccupancy(getPieceColor());
 
         if (removeMovesThatCauseCheck)
-            removeMovesThatCauseCheck(game, legalMoves);
+            moves &= game.getLegalMoveMask(getPosition());
 
-        return legalMoves;
+        return moves;
+    }
+
+    @Override
+    public PieceType getPieceType() {
+        return PieceType.ROOK;
     }
 
     @Override
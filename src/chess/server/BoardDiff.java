@@ -0,0 +1,140 @@
+package chess.server;
+
+import chess.model.BitBoard;
+import chess.model.ChessGame;
+import chess.model.GameStatus;
+import chess.model.PieceColor;
+import chess.model.pieces.ChessPiece;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The spaces of a hosted game that changed with one or more moves and what is on them now. The spaces changed by a
+ * move are found by ChessGame.getLastMoveChangedSpaces, so captures, castling and promotions are handled the same
+ * way the move was made.
+ *
+ * A diff is encoded once as a line such as "DIFF 7 12 CHECK e2. e4P" (the game id, the number of moves made, the
+ * status of the game and each changed space with its piece in FEN letters, or . when it is empty) and the same
+ * encoded bytes are shared by every spectator.
+ */
+public final class BoardDiff {
+
+    private final static String PIECE_LETTERS = "pnbrqk";
+
+    private final int gameId;
+    private final int ply;
+    private final GameStatus status;
+    private final long changedSpaces;
+    private final char[] pieces;
+
+    private final ByteBuffer encoded;
+
+    private BoardDiff(int gameId, int ply, GameStatus status, long changedSpaces, char[] pieces) {
+        this.gameId = gameId;
+        this.ply = ply;
+        this.status = status;
+        this.changedSpaces = changedSpaces;
+        this.pieces = pieces;
+        this.encoded = encode(gameId, ply, status, changedSpaces, pieces);
+    }
+
+    /**
+     * Gets the diff of the last move made in a game
+     *
+     * @param gameId
+     * @param game
+     * @return
+     */
+    public static BoardDiff ofLastMove(int gameId, ChessGame game) {
+        long changedSpaces = game.getLastMoveChangedSpaces();
+        char[] pieces = new char[BitBoard.NUMBER_OF_SPACES];
+
+        for (long spaces = changedSpaces; spaces != 0; spaces &= spaces - 1) {
+            int space = Long.numberOfTrailingZeros(spaces);
+            pieces[space] = getLetter(game.getBitBoard().getPiece(space));
+        }
+
+        return new BoardDiff(gameId, game.getMoveHistorySize(), game.getGameStatus(), changedSpaces, pieces);
+    }
+
+    /**
+     * Merges a diff of later moves into this one, for spectators that have not been sent this one yet
+     *
+     * @param later
+     * @return A diff with the spaces changed by both and what is on them after the later moves
+     */
+    public BoardDiff merge(BoardDiff later) {
+        char[] mergedPieces = pieces.clone();
+
+        for (long spaces = later.changedSpaces; spaces != 0; spaces &= spaces - 1) {
+            int space = Long.numberOfTrailingZeros(spaces);
+            mergedPieces[space] = later.pieces[space];
+        }
+
+        return new BoardDiff(gameId, later.ply, later.status, changedSpaces | later.changedSpaces, mergedPieces);
+    }
+
+    public int getGameId() {
+        return gameId;
+    }
+
+    /**
+     * @return The number of moves made in the game after the moves in the diff
+     */
+    public int getPly() {
+        return ply;
+    }
+
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return A bit for each changed space (see BitBoard)
+     */
+    public long getChangedSpaces() {
+        return changedSpaces;
+    }
+
+    /**
+     * Gets the FEN letter of the piece on a changed space
+     *
+     * @param space
+     * @return The letter, . if the space is empty or 0 if the space did not change
+     */
+    public char getPiece(int space) {
+        return pieces[space];
+    }
+
+    /**
+     * Gets the encoded line. The bytes are shared, but the buffer returned is only for the caller.
+     *
+     * @return
+     */
+    public ByteBuffer encode() {
+        return encoded.duplicate();
+    }
+
+    private static char getLetter(ChessPiece piece) {
+        if (piece == null)
+            return '.';
+
+        char letter = PIECE_LETTERS.charAt(piece.getPieceType().ordinal());
+        return piece.getPieceColor() == PieceColor.WHITE ? Character.toUpperCase(letter) : letter;
+    }
+
+    private static ByteBuffer encode(int gameId, int ply, GameStatus status, long changedSpaces, char[] pieces) {
+        StringBuilder line = new StringBuilder(64);
+        line.append("DIFF ").append(gameId).append(' ').append(ply).append(' ').append(status);
+
+        for (long spaces = changedSpaces; spaces != 0; spaces &= spaces - 1) {
+            int space = Long.numberOfTrailingZeros(spaces);
+            line.append(' ').append((char) ('a' + BitBoard.getCol(space))).append(ChessGame.BOARD_SIZE - BitBoard.getRow(space))
+                .append(pieces[space]);
+        }
+        line.append('\n');
+
+        return ByteBuffer.wrap(line.toString().getBytes(StandardCharsets.US_ASCII)).asReadOnlyBuffer();
+    }
+}
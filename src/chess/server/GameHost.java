@@ -0,0 +1,172 @@
+package chess.server;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Owns the hosted games and runs the commands of the game protocol (see GameServer) for the servers. Commands
+ * never block: the reply is completed by the mailbox of the game the command is for.
+ */
+class GameHost {
+
+    private final Executor executor;
+
+    //only the games still being played, games are taken out once they are closed (see HostedGame)
+    private final Map<Integer, HostedGame> games = new ConcurrentHashMap<>();
+    private final AtomicInteger nextGameId = new AtomicInteger(1);
+    //the ids of the games each connected player is playing in
+    private final Map<Object, Set<Integer>> gamesByPlayer = new ConcurrentHashMap<>();
+
+    private final LatencyStats moveLatency = new LatencyStats();
+
+    /**
+     * @param executor Runs the mailboxes of the games
+     */
+    GameHost(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @return The number of games still being played
+     */
+    int getGameCount() {
+        return games.size();
+    }
+
+    LatencyStats getMoveLatency() {
+        return moveLatency;
+    }
+
+    /**
+     * Runs a single command
+     *
+     * @param player The connection sending the command
+     * @param line
+     * @return The reply to the command, which is never completed exceptionally
+     */
+    CompletableFuture<String> handle(Object player, String line) {
+        String[] arguments = line.trim().split("\\s+");
+        CompletableFuture<String> reply;
+
+        try {
+            switch (arguments[0].toUpperCase()) {
+                case "CREATE":
+                    reply = CompletableFuture.completedFuture("OK " + createGame(player).getId() + " WHITE");
+                    break;
+                case "JOIN":
+                    HostedGame game = getGame(arguments, 2);
+
+                    //registered before the join is queued, so a disconnect while it waits still leaves the game
+                    boolean added = addPlayerGame(player, game.getId());
+                    reply = game.join(player).whenComplete((color, e) -> {
+                        if (e != null && added)
+                            removePlayerGame(player, game.getId());
+                    }).thenApply(color -> "OK " + game.getId() + " " + color);
+                    break;
+                case "MOVE":
+                    long startTime = System.nanoTime();
+                    reply = getGame(arguments, 3).move(player, arguments[2].toLowerCase()).thenApply(result -> {
+                        moveLatency.record(System.nanoTime() - startTime);
+                        return "OK " + result;
+                    });
+                    break;
+                case "RESIGN":
+                    reply = getGame(arguments, 2).resign(player).thenApply(color -> "OK " + color + "_RESIGNED");
+                    break;
+                case "WATCH":
+                    if (!(player instanceof Spectator))
+                        throw new IllegalArgumentException("This connection can not watch games");
+
+                    HostedGame watchedGame = getGame(arguments, 2);
+                    reply = watchedGame.watch((Spectator) player)
+                            .thenApply(position -> "OK " + watchedGame.getId() + " WATCHING " + position);
+                    break;
+                case "STATUS":
+                    reply = getGame(arguments, 2).describe().thenApply(description -> "OK " + description);
+                    break;
+                case "QUIT":
+                    reply = CompletableFuture.completedFuture("OK BYE");
+                    break;
+                default:
+                    reply = CompletableFuture.completedFuture("ERROR Unknown command " + arguments[0]);
+                    break;
+            }
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture("ERROR " + e.getMessage());
+        }
+
+        return reply.exceptionally(e -> "ERROR " + (e instanceof CompletionException ? e.getCause() : e).getMessage());
+    }
+
+    /**
+     * Takes a player that disconnected out of all of their games, which closes the games nobody is left in
+     *
+     * @param player
+     */
+    void disconnect(Object player) {
+        Set<Integer> ids = gamesByPlayer.remove(player);
+        if (ids == null)
+            return;
+
+        for (int id : ids) {
+            HostedGame game = games.get(id);
+            if (game != null)
+                game.leave(player);
+        }
+    }
+
+    private HostedGame createGame(Object player) {
+        HostedGame game = new HostedGame(nextGameId.getAndIncrement(), player, executor, this::removeGame);
+        games.put(game.getId(), game);
+        addPlayerGame(player, game.getId());
+
+        return game;
+    }
+
+    /**
+     * @return Whether the game was not one of the player's games already
+     */
+    private boolean addPlayerGame(Object player, int id) {
+        return gamesByPlayer.computeIfAbsent(player, key -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    private void removePlayerGame(Object player, int id) {
+        gamesByPlayer.computeIfPresent(player, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * Stops hosting a game once it is closed. This is called from the mailbox of the game.
+     */
+    private void removeGame(HostedGame game) {
+        games.remove(game.getId());
+
+        for (Object player : game.getPlayers())
+            removePlayerGame(player, game.getId());
+    }
+
+    private HostedGame getGame(String[] arguments, int expectedArguments) {
+        if (arguments.length != expectedArguments)
+            throw new IllegalArgumentException("Expected " + (expectedArguments - 1) + " arguments for " + arguments[0]);
+
+        int id;
+        try {
+            id = Integer.parseInt(arguments[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid game id " + arguments[1]);
+        }
+
+        HostedGame game = games.get(id);
+        if (game == null)
+            throw new IllegalArgumentException("No game with id " + id);
+
+        return game;
+    }
+}
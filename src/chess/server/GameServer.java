@@ -0,0 +1,151 @@
+package chess.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Hosts many games at once for players connected over TCP. Each connection gets its own session thread and every
+ * game handles the actions of its players one at a time through its mailbox (see HostedGame), so players only
+ * wait on the players in their own game.
+ *
+ * The protocol is one command per line, each answered with a line starting with OK or ERROR:
+ *
+ *  - CREATE             starts a new game with the player as white             OK <game id> WHITE
+ *  - JOIN <game id>     joins a game as black                                  OK <game id> BLACK
+ *  - MOVE <game id> <move>  makes a move in coordinate notation (e.g. e2e4 or e7e8q)  OK <algebraic notation> <game status>
+ *  - RESIGN <game id>   resigns the game                                       OK <color>_RESIGNED
+ *  - WATCH <game id>    watches a game                                         OK <game id> WATCHING <moves made> <FEN>
+ *  - STATUS <game id>   gets the game status and position                      OK <game status> <FEN>
+ *  - QUIT               closes the connection                                  OK BYE
+ *
+ * After WATCH, a BoardDiff line starting with DIFF is sent whenever a move is made in the game.
+ *
+ * A game stops being hosted once it is over or once its players have disconnected, after which commands for it
+ * get "ERROR No game with id".
+ *
+ * Sessions and mailboxes run on virtual threads when the JVM has them (Java 21 and up) and on a cached thread pool
+ * when it does not. NioGameServer speaks the same protocol without a thread for each connection.
+ */
+public class GameServer implements Closeable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = newThreadPerTaskExecutor();
+    private final Thread acceptThread;
+
+    private final GameHost host = new GameHost(executor);
+    private final Set<Socket> sessions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a server on the loopback address
+     *
+     * @param port The port to listen on, or 0 for any free port
+     * @throws IOException
+     */
+    public GameServer(int port) throws IOException {
+        this(new ServerSocket(port, 1024, InetAddress.getLoopbackAddress()));
+    }
+
+    public GameServer(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+        this.acceptThread = new Thread(this::acceptConnections, "GameServer-accept");
+    }
+
+    /**
+     * Starts accepting connections
+     */
+    public void start() {
+        acceptThread.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return The number of games still being played
+     */
+    public int getGameCount() {
+        return host.getGameCount();
+    }
+
+    /**
+     * Gets how long moves took from the time they were received to the time the game finished making them
+     *
+     * @return
+     */
+    public LatencyStats getMoveLatency() {
+        return host.getMoveLatency();
+    }
+
+    /**
+     * Stops accepting connections and closes every connection
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+
+        for (Socket socket : sessions)
+            socket.close();
+
+        executor.shutdownNow();
+    }
+
+    GameHost getHost() {
+        return host;
+    }
+
+    ExecutorService getExecutor() {
+        return executor;
+    }
+
+    void removeSession(Socket socket) {
+        sessions.remove(socket);
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                sessions.add(socket);
+                executor.execute(new GameSession(this, socket));
+            } catch (IOException e) {
+                //the server was closed
+            }
+        }
+    }
+
+    /**
+     * Creates an executor that starts a virtual thread for each task if the JVM has them
+     */
+    private static ExecutorService newThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "GameServer-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Runs a server until the process is stopped
+     *
+     * @param args The port to listen on (5000 by default)
+     */
+    public static void main(String[] args) throws IOException {
+        GameServer server = new GameServer(args.length > 0 ? Integer.parseInt(args[0]) : 5000);
+        server.start();
+
+        System.out.println("Hosting games on port " + server.getPort());
+    }
+}
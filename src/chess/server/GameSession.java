@@ -0,0 +1,84 @@
+package chess.server;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Handles the commands of a single connection to a GameServer, one line at a time (see GameServer for the protocol).
+ * Each session runs on its own thread and waits for the games it plays in to handle its commands (see GameHost).
+ * Diffs of the games it watches are written on their own threads, so a slow connection never holds up a game.
+ */
+class GameSession implements Runnable, Spectator {
+
+    private final GameServer server;
+    private final Socket socket;
+
+    //replies and diffs are written from different threads, so writes are synchronized on this
+    private OutputStream out;
+    private WritableByteChannel outChannel;
+
+    GameSession(GameServer server, Socket socket) {
+        this.server = server;
+        this.socket = socket;
+    }
+
+    @Override
+    public void run() {
+        try (Socket socket = this.socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+
+            synchronized (this) {
+                out = new BufferedOutputStream(socket.getOutputStream());
+                outChannel = Channels.newChannel(out);
+            }
+
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                if (line.trim().isEmpty())
+                    continue;
+
+                byte[] reply = (server.getHost().handle(this, line).join() + "\n").getBytes(StandardCharsets.UTF_8);
+                synchronized (this) {
+                    out.write(reply);
+                    out.flush();
+                }
+
+                if (line.trim().equalsIgnoreCase("QUIT"))
+                    break;
+            }
+        } catch (IOException e) {
+            //the connection was closed
+        } finally {
+            server.removeSession(socket);
+            server.getHost().disconnect(this);
+        }
+    }
+
+    @Override
+    public void send(ByteBuffer diff, Runnable done) {
+        server.getExecutor().execute(() -> {
+            try {
+                synchronized (this) {
+                    outChannel.write(diff);
+                    out.flush();
+                }
+            } catch (IOException e) {
+                //the connection was closed, so the session is no longer open
+            } finally {
+                done.run();
+            }
+        });
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !socket.isClosed();
+    }
+}
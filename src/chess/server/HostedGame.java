@@ -0,0 +1,273 @@
+package chess.server;
+
+import chess.model.ChessGame;
+import chess.model.GameStatus;
+import chess.model.Move;
+import chess.model.MoveList;
+import chess.model.PackedMove;
+import chess.model.PieceColor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A game hosted by GameServer and the players in it.
+ *
+ * Everything that reads or changes the game goes through its mailbox. Actions are queued and run one at a time by
+ * whichever thread finds the mailbox empty, so the game only ever has a single writer and players in different games
+ * never wait on each other. There are no locks, a player waits only for the actions queued for their own game.
+ *
+ * A game is closed once it is over (checkmate, stalemate, threefold repetition or a resignation) or once every
+ * player in it has left, which tells its host to stop hosting it.
+ */
+public class HostedGame {
+
+    private final int id;
+    private final ChessGame game = new ChessGame();
+    private final MoveList legalMoves = new MoveList();
+
+    private final Executor executor;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedActions = new AtomicInteger();
+
+    //only used inside of the mailbox
+    private Object whitePlayer;
+    private Object blackPlayer;
+    private PieceColor resignedColor = null;
+    private final List<SpectatorSubscription> spectators = new ArrayList<>();
+    private boolean whiteLeft = false;
+    private boolean blackLeft = false;
+    private boolean closed = false;
+
+    private final Consumer<HostedGame> onClosed;
+
+    /**
+     * @param id
+     * @param whitePlayer
+     * @param executor Runs the mailbox
+     * @param onClosed Called from the mailbox once the game is closed
+     */
+    HostedGame(int id, Object whitePlayer, Executor executor, Consumer<HostedGame> onClosed) {
+        this.id = id;
+        this.whitePlayer = whitePlayer;
+        this.executor = executor;
+        this.onClosed = onClosed;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Adds a player to the game as black
+     *
+     * @param player
+     * @return The color the player joined as
+     */
+    CompletableFuture<PieceColor> join(Object player) {
+        return submit(() -> {
+            if (closed)
+                throw new IllegalStateException("Game " + id + " is over");
+            if (blackPlayer != null)
+                throw new IllegalStateException("Game " + id + " is full");
+
+            blackPlayer = player;
+            return PieceColor.BLACK;
+        });
+    }
+
+    /**
+     * Makes a move for a player
+     *
+     * @param player
+     * @param coordinateNotation The move in coordinate notation (e.g. e2e4 or e7e8q)
+     * @return The move in algebraic notation and the status of the game after it (e.g. Qh4# CHECKMATE)
+     */
+    CompletableFuture<String> move(Object player, String coordinateNotation) {
+        return submit(() -> {
+            checkCanMove(player);
+
+            game.generateLegalMoves(legalMoves);
+            for (int i = 0; i < legalMoves.size(); i++) {
+                int move = legalMoves.get(i);
+                if (PackedMove.toCoordinateNotation(move).equals(coordinateNotation)) {
+                    game.makeMove(move);
+                    publishDiff();
+
+                    GameStatus status = game.getGameStatus();
+                    if (status.isGameOver())
+                        close();
+
+                    Move madeMove = PackedMove.toMove(game.getPackedMove(game.getMoveHistorySize() - 1));
+                    return madeMove.getAlgebraicNotation() + " " + status;
+                }
+            }
+
+            throw new IllegalArgumentException("Illegal move " + coordinateNotation);
+        });
+    }
+
+    /**
+     * Ends the game with the player losing
+     *
+     * @param player
+     * @return The color of the player that resigned
+     */
+    CompletableFuture<PieceColor> resign(Object player) {
+        return submit(() -> {
+            PieceColor color = getColor(player);
+            if (isOver())
+                throw new IllegalStateException("Game " + id + " is over");
+
+            resignedColor = color;
+            close();
+            return color;
+        });
+    }
+
+    /**
+     * Takes a player out of the game when they disconnect. The game is closed once every player has left.
+     *
+     * @param player
+     * @return
+     */
+    CompletableFuture<Void> leave(Object player) {
+        return submit(() -> {
+            if (player == whitePlayer)
+                whiteLeft = true;
+            if (player == blackPlayer)
+                blackLeft = true;
+
+            if (whiteLeft && (blackPlayer == null || blackLeft))
+                close();
+            return null;
+        });
+    }
+
+    /**
+     * Gets the players in the game. This can only be called from inside of the mailbox, such as by onClosed.
+     *
+     * @return
+     */
+    List<Object> getPlayers() {
+        List<Object> players = new ArrayList<>(2);
+        players.add(whitePlayer);
+        if (blackPlayer != null)
+            players.add(blackPlayer);
+
+        return players;
+    }
+
+    /**
+     * Starts sending a spectator the diff of every move made from now on
+     *
+     * @param spectator
+     * @return The number of moves made so far and the position as a FEN string, which the diffs are applied to
+     */
+    CompletableFuture<String> watch(Spectator spectator) {
+        return submit(() -> {
+            spectators.add(new SpectatorSubscription(spectator));
+            return game.getMoveHistorySize() + " " + game.toFen();
+        });
+    }
+
+    /**
+     * @return The status of the game and its position as a FEN string
+     */
+    CompletableFuture<String> describe() {
+        return submit(() -> (resignedColor != null ? resignedColor + "_RESIGNED" : game.getGameStatus().toString()) + " " + game.toFen());
+    }
+
+    private void close() {
+        if (closed)
+            return;
+
+        closed = true;
+        onClosed.accept(this);
+    }
+
+    private void publishDiff() {
+        spectators.removeIf(subscription -> !subscription.isOpen());
+        if (spectators.isEmpty())
+            return;
+
+        //the diff is encoded once for all of the spectators
+        BoardDiff diff = BoardDiff.ofLastMove(id, game);
+        for (SpectatorSubscription subscription : spectators)
+            subscription.publish(diff);
+    }
+
+    private void checkCanMove(Object player) {
+        PieceColor color = getColor(player);
+
+        if (isOver())
+            throw new IllegalStateException("Game " + id + " is over");
+        if (blackPlayer == null)
+            throw new IllegalStateException("Game " + id + " is waiting for an opponent");
+        if (color != game.getCurrentTurn())
+            throw new IllegalStateException("It is not your turn");
+    }
+
+    private PieceColor getColor(Object player) {
+        if (player == whitePlayer)
+            return PieceColor.WHITE;
+        if (player == blackPlayer)
+            return PieceColor.BLACK;
+
+        throw new IllegalStateException("You are not playing in game " + id);
+    }
+
+    private boolean isOver() {
+        return closed || resignedColor != null || game.getGameStatus().isGameOver();
+    }
+
+    /**
+     * Queues an action for the game and runs the mailbox if nothing else is running it
+     */
+    private <T> CompletableFuture<T> submit(Supplier<T> action) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        mailbox.add(() -> {
+            try {
+                result.complete(action.get());
+            } catch (Throwable e) {
+                //errors have to complete the future too or the player waiting on it would wait forever
+                result.completeExceptionally(e);
+            }
+        });
+
+        if (queuedActions.getAndIncrement() == 0) {
+            try {
+                executor.execute(this::drainMailbox);
+            } catch (RejectedExecutionException e) {
+                //the server is shutting down, players still leaving are handled on their own threads
+                drainMailbox();
+            }
+        }
+
+        return result;
+    }
+
+    private void drainMailbox() {
+        boolean moreActions = true;
+
+        while (moreActions) {
+            try {
+                mailbox.poll().run();
+            } catch (Throwable e) {
+                //actions complete their own futures, nothing thrown here may stop the actions queued after it
+            } finally {
+                //the count must always go down, otherwise no later submit would run the mailbox again
+                moreActions = queuedActions.decrementAndGet() > 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package chess.server;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of how long something took without keeping every measurement. Measurements are counted in
+ * buckets of powers of 2 nanoseconds, so percentiles are rounded up to the next power of 2.
+ */
+public class LatencyStats {
+
+    private final static int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        nanos = Math.max(nanos, 1);
+
+        buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(nanos) - 1);
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMeanNanos() {
+        long count = getCount();
+        return count > 0 ? (double) totalNanos.sum() / count : 0;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * @param percentile Between 0 and 100
+     * @return The time that at least that percent of measurements took at most, rounded up to a power of 2
+     */
+    public long getPercentileNanos(double percentile) {
+        long count = getCount();
+        if (count == 0)
+            return 0;
+
+        long needed = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= needed)
+                return Math.min(i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1, getMaxNanos());
+        }
+
+        return getMaxNanos();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d moves, mean %.1fus, p50 %.1fus, p99 %.1fus, max %.1fus", getCount(),
+                getMeanNanos() / 1e3, getPercentileNanos(50) / 1e3, getPercentileNanos(99) / 1e3, getMaxNanos() / 1e3);
+    }
+}
@@ -0,0 +1,373 @@
+package chess.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Hosts games over the same line based protocol as GameServer, but with a single selector thread for every
+ * connection instead of a thread for each one, so thousands of idle connections only cost their buffers.
+ *
+ * Commands are read straight out of a direct buffer for each connection and handed to GameHost. A connection has at
+ * most one command being handled at a time, so replies go out in the order the commands came in. When the game
+ * finishes the command the reply is queued for the selector thread, which writes it and starts on the next command.
+ * Diffs of watched games are queued the same way and written from the buffer shared by every spectator.
+ * The game mailboxes run on a small pool of threads since they never block.
+ */
+public class NioGameServer implements Closeable {
+
+    //commands are much shorter than this, a longer line closes the connection
+    private final static int MAX_LINE_LENGTH = 256;
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Thread selectorThread;
+
+    private final ExecutorService mailboxExecutor;
+    private final GameHost host;
+
+    //connections with a reply or diff ready to be written by the selector thread
+    private final Queue<Connection> connectionsToWrite = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a server on the loopback address
+     *
+     * @param port The port to listen on, or 0 for any free port
+     * @throws IOException
+     */
+    public NioGameServer(int port) throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        mailboxExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "NioGameServer-mailbox");
+            thread.setDaemon(true);
+            return thread;
+        });
+        host = new GameHost(mailboxExecutor);
+
+        selectorThread = new Thread(this::runSelector, "NioGameServer-selector");
+    }
+
+    /**
+     * Starts accepting connections
+     */
+    public void start() {
+        selectorThread.start();
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * @return The number of games still being played
+     */
+    public int getGameCount() {
+        return host.getGameCount();
+    }
+
+    /**
+     * Gets how long moves took from the time they were read to the time the game finished making them
+     *
+     * @return
+     */
+    public LatencyStats getMoveLatency() {
+        return host.getMoveLatency();
+    }
+
+    /**
+     * @return The number of open connections
+     */
+    public int getConnectionCount() {
+        //the server channel is registered with the selector too
+        return Math.max(0, selector.keys().size() - 1);
+    }
+
+    /**
+     * Stops accepting connections and closes every connection
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        selector.wakeup();
+        try {
+            selectorThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        //the selector thread closes everything when it stops, unless it was never started
+        serverChannel.close();
+        selector.close();
+        mailboxExecutor.shutdownNow();
+    }
+
+    private void runSelector() {
+        try {
+            while (!closed) {
+                selector.select();
+
+                for (Connection connection = connectionsToWrite.poll(); connection != null; connection = connectionsToWrite.poll())
+                    connection.write();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+
+                    if (!key.isValid())
+                        continue;
+
+                    if (key.isAcceptable())
+                        accept();
+                    else if (key.isReadable())
+                        ((Connection) key.attachment()).read();
+                    else if (key.isWritable())
+                        ((Connection) key.attachment()).write();
+                }
+            }
+        } catch (IOException e) {
+            //the selector can no longer be used, so the server stops
+        } finally {
+            for (SelectionKey key : selector.keys())
+                closeQuietly(key);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null)
+            return;
+
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+        Connection connection = new Connection(channel);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            //it is being closed anyway
+        }
+    }
+
+    /**
+     * Something waiting to be written to a connection: either a reply or a diff of a watched game
+     */
+    private static class Outgoing {
+        final String reply;
+        final ByteBuffer diff;
+        final Runnable done;
+
+        Outgoing(String reply, ByteBuffer diff, Runnable done) {
+            this.reply = reply;
+            this.diff = diff;
+            this.done = done;
+        }
+    }
+
+    /**
+     * A single client connection. Everything but queueing something to write is only done on the selector thread.
+     */
+    private class Connection implements Spectator {
+
+        private final SocketChannel channel;
+        private SelectionKey key;
+
+        //kept ready to be written into, holding the bytes that have been read but not handled yet
+        private final ByteBuffer in = ByteBuffer.allocateDirect(MAX_LINE_LENGTH);
+        //holds the reply being written when it fits
+        private final ByteBuffer replyBuffer = ByteBuffer.allocateDirect(MAX_LINE_LENGTH);
+
+        private final StringBuilder line = new StringBuilder(MAX_LINE_LENGTH);
+        private boolean handlingCommand = false;
+        private boolean quit = false;
+
+        //queued by the mailbox threads and written by the selector thread in order
+        private final Queue<Outgoing> outgoing = new ConcurrentLinkedQueue<>();
+        private ByteBuffer writing = null;
+        private Runnable writingDone = null;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void send(ByteBuffer diff, Runnable done) {
+            queue(new Outgoing(null, diff, done));
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        void read() {
+            try {
+                if (channel.read(in) < 0) {
+                    close();
+                    return;
+                }
+            } catch (IOException e) {
+                close();
+                return;
+            }
+
+            //stop reading until the commands already read have been handled
+            if (!in.hasRemaining())
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+
+            handleNextCommand();
+        }
+
+        /**
+         * Starts handling the next full line that has been read, if no other command is being handled
+         */
+        private void handleNextCommand() {
+            while (!handlingCommand && key.isValid()) {
+                in.flip();
+
+                int end = -1;
+                for (int i = in.position(); i < in.limit(); i++) {
+                    if (in.get(i) == '\n') {
+                        end = i;
+                        break;
+                    }
+                }
+
+                if (end < 0) {
+                    boolean full = in.limit() == in.capacity();
+                    in.compact();
+                    if (full)
+                        close();
+                    return;
+                }
+
+                line.setLength(0);
+                for (int i = in.position(); i < end; i++) {
+                    char c = (char) (in.get(i) & 0xFF);
+                    if (c != '\r')
+                        line.append(c);
+                }
+                in.position(end + 1);
+                in.compact();
+                key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+
+                String command = line.toString().trim();
+                if (command.isEmpty())
+                    continue;
+
+                handlingCommand = true;
+                quit = command.equalsIgnoreCase("QUIT");
+                host.handle(this, command).thenAccept(reply -> queue(new Outgoing(reply, null, this::replySent)));
+            }
+        }
+
+        private void replySent() {
+            handlingCommand = false;
+
+            if (quit)
+                close();
+            else
+                handleNextCommand();
+        }
+
+        /**
+         * Queues something to be written by the selector thread
+         */
+        private void queue(Outgoing next) {
+            outgoing.add(next);
+            connectionsToWrite.add(this);
+            selector.wakeup();
+        }
+
+        /**
+         * Writes everything queued until the socket can not take any more
+         */
+        void write() {
+            while (key.isValid()) {
+                if (writing == null) {
+                    Outgoing next = outgoing.poll();
+                    if (next == null)
+                        break;
+
+                    writing = next.diff != null ? next.diff : encodeReply(next.reply);
+                    writingDone = next.done;
+                }
+
+                try {
+                    channel.write(writing);
+                } catch (IOException e) {
+                    close();
+                    return;
+                }
+
+                if (writing.hasRemaining()) {
+                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                    return;
+                }
+
+                Runnable done = writingDone;
+                writing = null;
+                writingDone = null;
+                done.run();
+            }
+
+            if (key.isValid())
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+        }
+
+        private ByteBuffer encodeReply(String reply) {
+            byte[] bytes = reply.getBytes(StandardCharsets.UTF_8);
+
+            //replies are usually short enough for the reused buffer, longer ones get a buffer of their own
+            ByteBuffer buffer = bytes.length < replyBuffer.capacity() ? replyBuffer : ByteBuffer.allocate(bytes.length + 1);
+            buffer.clear();
+            buffer.put(bytes);
+            buffer.put((byte) '\n');
+            buffer.flip();
+
+            return buffer;
+        }
+
+        private void close() {
+            key.cancel();
+            closeQuietly(key);
+            host.disconnect(this);
+        }
+    }
+
+    /**
+     * Runs a server until the process is stopped
+     *
+     * @param args The port to listen on (5000 by default)
+     */
+    public static void main(String[] args) throws IOException {
+        NioGameServer server = new NioGameServer(args.length > 0 ? Integer.parseInt(args[0]) : 5000);
+        server.start();
+
+        System.out.println("Hosting games on port " + server.getPort());
+    }
+}
@@ -0,0 +1,24 @@
+package chess.server;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Someone watching a hosted game, such as a connection to one of the servers. Spectators get a BoardDiff with
+ * the spaces that changed after every move instead of the whole board.
+ */
+public interface Spectator {
+
+    /**
+     * Sends an encoded diff (see BoardDiff.encode) to the spectator. This must not block: done is run once the diff
+     * has been sent, and the diffs of any moves made before then are merged into the next diff sent.
+     *
+     * @param diff A buffer only used by this spectator, but whose contents may be shared with other spectators
+     * @param done
+     */
+    void send(ByteBuffer diff, Runnable done);
+
+    /**
+     * @return Whether the spectator can still be sent diffs
+     */
+    boolean isOpen();
+}
@@ -0,0 +1,56 @@
+package chess.server;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sends the diffs of a hosted game to a single spectator. A spectator that keeps up is sent the diff of each move
+ * as it is; while a spectator is still sending a diff, the diffs of the moves after it are merged into one.
+ */
+class SpectatorSubscription {
+
+    private final Spectator spectator;
+
+    private final AtomicReference<BoardDiff> pending = new AtomicReference<>();
+    private final AtomicBoolean sending = new AtomicBoolean(false);
+
+    SpectatorSubscription(Spectator spectator) {
+        this.spectator = spectator;
+    }
+
+    boolean isOpen() {
+        return spectator.isOpen();
+    }
+
+    /**
+     * Sends a diff now if the spectator is not sending one, otherwise merges it into the diff sent next
+     *
+     * @param diff
+     */
+    void publish(BoardDiff diff) {
+        pending.accumulateAndGet(diff, (waiting, later) -> waiting == null ? later : waiting.merge(later));
+        sendPending();
+    }
+
+    private void sendPending() {
+        while (sending.compareAndSet(false, true)) {
+            BoardDiff diff = pending.getAndSet(null);
+            if (diff != null) {
+                spectator.send(diff.encode(), this::sent);
+                return;
+            }
+
+            sending.set(false);
+
+            //a diff could have been published after taking the pending diff and before sending was cleared
+            if (pending.get() == null)
+                return;
+        }
+    }
+
+    private void sent() {
+        sending.set(false);
+        if (pending.get() != null)
+            sendPending();
+    }
+}
@@ -0,0 +1,100 @@
+package chess.tests.model;
+
+import chess.model.Attacks;
+import chess.model.BitBoard;
+import chess.model.ChessGame;
+import chess.model.PieceColor;
+import chess.model.Position;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the attack masks and the attacked spaces kept by ChessGame
+ */
+public class AttacksTest {
+
+    ChessGame game;
+
+    @Before
+    public void setUp() {
+        game = new ChessGame();
+    }
+
+    private static long bit(int row, int col) {
+        return 1L << BitBoard.toSpaceIndex(row, col);
+    }
+
+    @Test
+    public void knightInTheCornerAttacksTwoSpaces() {
+        assertEquals(bit(1, 2) | bit(2, 1), Attacks.knightAttacks(BitBoard.toSpaceIndex(0, 0)));
+    }
+
+    @Test
+    public void leapersDoNotWrapAroundTheEdges() {
+        assertEquals(8, Long.bitCount(Attacks.knightAttacks(BitBoard.toSpaceIndex(4, 4))));
+        assertEquals(8, Long.bitCount(Attacks.kingAttacks(BitBoard.toSpaceIndex(4, 4))));
+        assertEquals(bit(0, 6) | bit(1, 6) | bit(1, 7), Attacks.kingAttacks(BitBoard.toSpaceIndex(0, 7)));
+        assertEquals(bit(5, 1), Attacks.pawnAttacks(PieceColor.WHITE, BitBoard.toSpaceIndex(6, 0)));
+    }
+
+    @Test
+    public void pawnsAttackTowardsTheOtherSide() {
+        assertEquals(bit(5, 3) | bit(5, 5), Attacks.pawnAttacks(PieceColor.WHITE, BitBoard.toSpaceIndex(6, 4)));
+        assertEquals(bit(2, 6), Attacks.pawnAttacks(PieceColor.BLACK, BitBoard.toSpaceIndex(1, 7)));
+    }
+
+    @Test
+    public void rookAttacksStopAtTheFirstPiece() {
+        long occupied = bit(0, 3) | bit(5, 0);
+        long expected = bit(0, 1) | bit(0, 2) | bit(0, 3)
+                      | bit(1, 0) | bit(2, 0) | bit(3, 0) | bit(4, 0) | bit(5, 0);
+
+        assertEquals(expected, Attacks.rookAttacks(BitBoard.toSpaceIndex(0, 0), occupied));
+    }
+
+    @Test
+    public void magicTablesMatchWalkingTheRays() {
+        assertTrue(Attacks.verifyMagicTables());
+    }
+
+    @Test
+    public void magicLookupsIgnoreSpacesThatCanNotBlock() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 1000; i++) {
+            long occupied = random.nextLong() & random.nextLong();
+            int spaceIndex = random.nextInt(BitBoard.NUMBER_OF_SPACES);
+
+            assertEquals(Attacks.rookRayAttacks(spaceIndex, occupied), Attacks.rookAttacks(spaceIndex, occupied));
+            assertEquals(Attacks.bishopRayAttacks(spaceIndex, occupied), Attacks.bishopAttacks(spaceIndex, occupied));
+        }
+    }
+
+    @Test
+    public void newGameAttacksTheRowsInFrontOfEachSide() {
+        assertEquals(0x0000FF0000000000L, game.getAttackedSpaces(PieceColor.WHITE) & 0x0000FF0000000000L);
+        assertTrue(game.isSpaceAttacked(Position.of(2, 0), PieceColor.BLACK));
+        assertFalse(game.isSpaceAttacked(Position.of(3, 0), PieceColor.BLACK));
+        assertFalse(game.isCheck());
+    }
+
+    @Test
+    public void attackedSpacesFollowTheMoves() {
+        game.makeMove(Position.of(6, 4), Position.of(4, 4));
+        game.makeMove(Position.of(1, 5), Position.of(2, 5));
+        assertFalse(game.isSpaceAttacked(Position.of(4, 7), PieceColor.WHITE));
+
+        //the queen can now reach the black king
+        game.makeMove(Position.of(7, 3), Position.of(3, 7));
+        assertTrue(game.isSpaceAttacked(Position.of(0, 4), PieceColor.WHITE));
+        assertTrue(game.isInCheck(PieceColor.BLACK));
+        assertFalse(game.isInCheck(PieceColor.WHITE));
+
+        game.unmakeMove();
+        assertFalse(game.isInCheck(PieceColor.BLACK));
+    }
+}
@@ -0,0 +1,60 @@
+package chess.tests.model;
+
+import chess.model.*;
+import chess.model.pieces.ChessPiece;
+import chess.model.pieces.Rook;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the BitBoard class
+ */
+public class BitBoardTest {
+
+    ChessGame game;
+
+    @Before
+    public void setUp() {
+        game = new ChessGame();
+    }
+
+    @Test
+    public void newGameHasTheRightOccupancy() {
+        BitBoard bitBoard = game.getBitBoard();
+
+        assertEquals(0x000000000000FFFFL, bitBoard.getOccupancy(PieceColor.BLACK));
+        assertEquals(0xFFFF000000000000L, bitBoard.getOccupancy(PieceColor.WHITE));
+        assertEquals(0xFFFF00000000FFFFL, bitBoard.getOccupancy());
+        assertEquals(0x00FF000000000000L, bitBoard.getPieces(PieceColor.WHITE, PieceType.PAWN));
+        assertEquals(1L << BitBoard.toSpaceIndex(0, 4), bitBoard.getPieces(PieceColor.BLACK, PieceType.KING));
+    }
+
+    @Test
+    public void masksStayInSyncWithBoardSpaces() {
+        Position position = Position.of(4, 4);
+        ChessPiece rook = new Rook(PieceColor.BLACK, position);
+        game.getBoardSpace(position).setPiece(rook);
+
+        long bit = 1L << BitBoard.toSpaceIndex(position);
+        assertEquals(bit, game.getBitBoard().getPieces(PieceColor.BLACK, PieceType.ROOK) & bit);
+        assertTrue(game.getBitBoard().isOccupied(BitBoard.toSpaceIndex(position)));
+
+        game.getBoardSpace(position).setPiece(null);
+        assertEquals(0, game.getBitBoard().getOccupancy() & bit);
+        assertEquals(0, game.getBitBoard().getPieces(PieceColor.BLACK, PieceType.ROOK) & bit);
+    }
+
+    @Test
+    public void masksFollowMovesAndUndo() {
+        game.makeMove(Position.of(6, 4), Position.of(4, 4));
+        BitBoard bitBoard = game.getBitBoard();
+
+        assertFalse(bitBoard.isOccupied(BitBoard.toSpaceIndex(6, 4)));
+        assertTrue(bitBoard.isOccupied(BitBoard.toSpaceIndex(4, 4)));
+
+        game.unmakeMove();
+        assertEquals(0xFFFF00000000FFFFL, bitBoard.getOccupancy());
+    }
+}
@@ -2,12 +2,18 @@ package chess.tests.model;
 
 
 import chess.model.ChessGame;
+import chess.model.GameStatus;
+import chess.model.MoveList;
 import chess.model.PieceColor;
+import chess.model.PieceType;
 import chess.model.PlayerPieceSet;
 import chess.model.Position;
 import chess.model.pieces.ChessPiece;
 import chess.model.pieces.King;
+import chess.model.pieces.Knight;
 import chess.model.pieces.Pawn;
+import chess.model.pieces.Queen;
+import chess.model.pieces.Rook;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -21,8 +27,8 @@ public class ChessGameTest {
     @Before
     public void setUp() {
         game = new ChessGame();
-        //blackKing = addNewPieceToGame(new King(PieceColor.BLACK), new Position(0,4));
-        //whiteKing = addNewPieceToGame(new King(PieceColor.WHITE), new Position(7,4));
+        //blackKing = addNewPieceToGame(new King(PieceColor.BLACK), Position.of(0,4));
+        //whiteKing = addNewPieceToGame(new King(PieceColor.WHITE), Position.of(7,4));
     }
 
     private ChessPiece addNewPieceToGame(ChessPiece piece, Position position) {
@@ -46,39 +52,39 @@ public class ChessGameTest {
     public void moveCausesCheckWhenKingIsAlreadyInCheck() {
 
         //play out actual game (The moveCausesCheckMethodRequires a history of game moves)
-        Position from = new Position(6, 4);
-        Position to = new Position(4, 4);
+        Position from = Position.of(6, 4);
+        Position to = Position.of(4, 4);
         game.makeMove(from, to);
 
-        from = new Position(1, 5);
-        to = new Position(3, 5);
+        from = Position.of(1, 5);
+        to = Position.of(3, 5);
         game.makeMove(from, to);
 
-        from = new Position(4, 4);
-        to = new Position(3, 5);
+        from = Position.of(4, 4);
+        to = Position.of(3, 5);
         game.makeMove(from, to);
 
-        from = new Position(1, 1);
-        to = new Position(2, 1);
+        from = Position.of(1, 1);
+        to = Position.of(2, 1);
         game.makeMove(from, to);
 
-        from = new Position(3, 5);
-        to = new Position(2, 5);
+        from = Position.of(3, 5);
+        to = Position.of(2, 5);
         game.makeMove(from, to);
 
-        from = new Position(2, 1);
-        to = new Position(3, 1);
+        from = Position.of(2, 1);
+        to = Position.of(3, 1);
         game.makeMove(from, to);
 
-        from = new Position(2, 5);
-        to = new Position(1, 5);
+        from = Position.of(2, 5);
+        to = Position.of(1, 5);
         game.makeMove(from, to);
 
         //king should now be in check
         assertTrue(game.isBlackInCheck());
 
-        from = new Position(3, 1);
-        to = new Position(4, 1);
+        from = Position.of(3, 1);
+        to = Position.of(4, 1);
         assertTrue(game.moveCausesCheckForItsOwnKing(from, to));
 
         //check that the king is still in check after making the move anyway
@@ -87,4 +93,266 @@ public class ChessGameTest {
         assertTrue(game.isBlackCheckmated());
         assertTrue(game.isCheckmate());
     }
+
+    @Test
+    public void unmakeMoveRestoresCapturedPieceAndTurn() {
+        game.makeMove(Position.of(6, 4), Position.of(4, 4));
+        game.makeMove(Position.of(1, 3), Position.of(3, 3));
+
+        ChessPiece whitePawn = game.getBoardSpace(Position.of(4, 4)).getPiece();
+        ChessPiece blackPawn = game.getBoardSpace(Position.of(3, 3)).getPiece();
+        game.makeMove(Position.of(4, 4), Position.of(3, 3));
+        assertEquals(15, game.getBlackPieces().getAllAlivePieces().size());
+
+        assertTrue(game.unmakeMove());
+
+        assertSame(whitePawn, game.getBoardSpace(Position.of(4, 4)).getPiece());
+        assertSame(blackPawn, game.getBoardSpace(Position.of(3, 3)).getPiece());
+        assertTrue(game.getBlackPieces().getAllCapturedPieces().isEmpty());
+        assertEquals(16, game.getBlackPieces().getAllAlivePieces().size());
+        assertEquals(PieceColor.WHITE, game.getCurrentTurn());
+        assertEquals(2, game.getGameHistory().size());
+    }
+
+    @Test
+    public void moveCausesCheckLeavesTheBoardUnchanged() {
+        game.makeMove(Position.of(6, 4), Position.of(4, 4));
+        game.makeMove(Position.of(1, 3), Position.of(3, 3));
+
+        Position from = Position.of(4, 4);
+        Position to = Position.of(3, 3);
+        ChessPiece whitePawn = game.getBoardSpace(from).getPiece();
+        ChessPiece blackPawn = game.getBoardSpace(to).getPiece();
+
+        assertFalse(game.moveCausesCheckForItsOwnKing(from, to));
+
+        assertSame(whitePawn, game.getBoardSpace(from).getPiece());
+        assertSame(blackPawn, game.getBoardSpace(to).getPiece());
+        assertTrue(whitePawn.hasMoved());
+        assertEquals(16, game.getBlackPieces().getAllAlivePieces().size());
+        assertEquals(PieceColor.WHITE, game.getCurrentTurn());
+    }
+
+    @Test
+    public void generateLegalMovesReusesTheMoveList() {
+        MoveList moves = new MoveList();
+
+        assertEquals(20, game.generateLegalMoves(moves));
+        assertEquals(20, moves.size());
+
+        game.makeMove(Position.of(6, 4), Position.of(4, 4));
+        assertEquals(20, game.generateLegalMoves(moves));
+
+        game.makeMove(Position.of(1, 3), Position.of(3, 3));
+        assertEquals(31, game.generateLegalMoves(moves));
+    }
+
+    @Test
+    public void generatedMovesCanBeSimulatedAndTakenBack() {
+        MoveList moves = new MoveList();
+        game.generateLegalMoves(moves);
+        long positionKey = game.getPositionKey();
+
+        for (int i = 0; i < moves.size(); i++) {
+            assertTrue(game.simulateMove(moves.get(i)));
+            assertEquals(PieceColor.BLACK, game.getCurrentTurn());
+            assertTrue(game.unmakeMove());
+        }
+
+        assertEquals(positionKey, game.getPositionKey());
+    }
+
+    @Test
+    public void pieceSetsFollowTheMovesMade() {
+        game.makeMove(Position.of(6, 4), Position.of(4, 4));
+        game.makeMove(Position.of(1, 3), Position.of(3, 3));
+        game.makeMove(Position.of(4, 4), Position.of(3, 3));
+
+        assertSame(game.getBoardSpace(Position.of(3, 3)).getPiece(), game.getWhitePieces().getPieceAtPosition(Position.of(3, 3)));
+        assertNull(game.getBlackPieces().getPieceAtPosition(Position.of(3, 3)));
+        assertSame(Position.of(0, 4), game.getBlackPieces().getKingPosition());
+
+        game.unmakeMove();
+
+        assertSame(game.getBoardSpace(Position.of(3, 3)).getPiece(), game.getBlackPieces().getPieceAtPosition(Position.of(3, 3)));
+        assertSame(game.getBoardSpace(Position.of(4, 4)).getPiece(), game.getWhitePieces().getPieceAtPosition(Position.of(4, 4)));
+        assertNull(game.getWhitePieces().getPieceAtPosition(Position.of(3, 3)));
+    }
+
+    @Test
+    public void enPassantSquareIsTheSpaceThePawnPassedOver() {
+        assertEquals(-1, game.getEnPassantSquare());
+
+        game.makeMove(Position.of(6, 4), Position.of(4, 4));
+        assertEquals(Position.of(5, 4).getIndex(), game.getEnPassantSquare());
+
+        game.makeMove(Position.of(1, 0), Position.of(2, 0));
+        assertEquals(-1, game.getEnPassantSquare());
+
+        game.unmakeMove();
+        assertEquals(Position.of(5, 4).getIndex(), game.getEnPassantSquare());
+    }
+
+    @Test
+    public void enPassantCapturesThePawnThatPassedOver() {
+        game.makeMove(Position.of(6, 4), Position.of(4, 4));
+        game.makeMove(Position.of(1, 0), Position.of(2, 0));
+        game.makeMove(Position.of(4, 4), Position.of(3, 4));
+        game.makeMove(Position.of(1, 3), Position.of(3, 3));
+        ChessPiece blackPawn = game.getBoardSpace(Position.of(3, 3)).getPiece();
+
+        assertTrue(game.getBoardSpace(Position.of(3, 4)).getPiece().getLegalMoves(game, true).contains(Position.of(2, 3)));
+        game.makeMove(Position.of(3, 4), Position.of(2, 3));
+
+        assertNull(game.getBoardSpace(Position.of(3, 3)).getPiece());
+        assertTrue(game.getBlackPieces().getAllCapturedPieces().contains(blackPawn));
+
+        game.unmakeMove();
+        assertSame(blackPawn, game.getBoardSpace(Position.of(3, 3)).getPiece());
+        assertEquals(Position.of(2, 3).getIndex(), game.getEnPassantSquare());
+    }
+
+    @Test
+    public void movingARookLosesOnlyItsCastlingRight() {
+        assertEquals(ChessGame.ALL_CASTLING_RIGHTS, game.getCastlingRights());
+
+        game.makeMove(Position.of(6, 7), Position.of(4, 7));
+        game.makeMove(Position.of(1, 0), Position.of(3, 0));
+        game.makeMove(Position.of(7, 7), Position.of(5, 7));
+
+        assertFalse(game.hasKingSideCastlingRight(PieceColor.WHITE));
+        assertTrue(game.hasQueenSideCastlingRight(PieceColor.WHITE));
+        assertTrue(game.hasKingSideCastlingRight(PieceColor.BLACK));
+
+        game.unmakeMove();
+        assertTrue(game.hasKingSideCastlingRight(PieceColor.WHITE));
+    }
+
+    @Test
+    public void capturingARookOnItsStartingSpaceLosesTheCastlingRight() {
+        ChessGame game = ChessGame.fromFen("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+
+        game.makeMove(Position.of(7, 7), Position.of(0, 7));
+
+        assertFalse(game.hasKingSideCastlingRight(PieceColor.WHITE));
+        assertFalse(game.hasKingSideCastlingRight(PieceColor.BLACK));
+        assertTrue(game.hasQueenSideCastlingRight(PieceColor.BLACK));
+        assertFalse(game.getBoardSpace(Position.of(0, 4)).getPiece().getLegalMoves(game, true).contains(Position.of(0, 6)));
+    }
+
+    @Test
+    public void gameStatusOfANewGameIsInProgress() {
+        assertEquals(GameStatus.IN_PROGRESS, game.getGameStatus());
+        assertTrue(game.hasAnyLegalMove(PieceColor.WHITE));
+        assertFalse(game.isStalemate());
+    }
+
+    @Test
+    public void kingWithNoMovesThatIsNotInCheckIsStalemated() {
+        ChessGame game = ChessGame.fromFen("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1");
+
+        assertFalse(game.hasAnyLegalMove(PieceColor.BLACK));
+        assertEquals(GameStatus.STALEMATE, game.getGameStatus());
+        assertTrue(game.isStalemate());
+        assertFalse(game.isCheckmate());
+    }
+
+    @Test
+    public void makeMoveMarksStalemateAndCheckmate() {
+        ChessGame game = ChessGame.fromFen("7k/8/6K1/5Q2/8/8/8/8 w - - 0 1");
+        game.makeMove(Position.of(3, 5), Position.of(1, 5));
+
+        assertTrue(game.getGameHistory().get(0).isStalemate());
+        assertEquals(GameStatus.STALEMATE, game.getGameStatus());
+
+        //fool's mate
+        this.game.makeMove(Position.of(6, 5), Position.of(5, 5));
+        this.game.makeMove(Position.of(1, 4), Position.of(3, 4));
+        this.game.makeMove(Position.of(6, 6), Position.of(4, 6));
+        this.game.makeMove(Position.of(0, 3), Position.of(4, 7));
+
+        assertTrue(this.game.getGameHistory().get(3).isCheckmate());
+        assertEquals(GameStatus.CHECKMATE, this.game.getGameStatus());
+    }
+
+    private void shuffleKnightsOutAndBack(ChessGame game) {
+        game.makeMove(Position.of(7, 6), Position.of(5, 5));
+        game.makeMove(Position.of(0, 6), Position.of(2, 5));
+        game.makeMove(Position.of(5, 5), Position.of(7, 6));
+        game.makeMove(Position.of(2, 5), Position.of(0, 6));
+    }
+
+    @Test
+    public void repeatingThePositionThreeTimesIsADraw() {
+        shuffleKnightsOutAndBack(game);
+        assertEquals(2, game.getRepetitionCount());
+        assertFalse(game.isThreefoldRepetition());
+
+        shuffleKnightsOutAndBack(game);
+        assertEquals(3, game.getRepetitionCount());
+        assertTrue(game.isThreefoldRepetition());
+        assertEquals(GameStatus.THREEFOLD_REPETITION, game.getGameStatus());
+        assertTrue(game.getGameStatus().isGameOver());
+
+        game.unmakeMove();
+        assertFalse(game.isThreefoldRepetition());
+    }
+
+    @Test
+    public void enPassantNoPawnCanTakeDoesNotStopARepetition() {
+        //1. e4 Nf6 2. Nf3 Ng8 3. Ng1 Nf6 4. Nf3 Ng8 5. Ng1 is the position after 1. e4 for the third time
+        game.makeMove(Position.of(6, 4), Position.of(4, 4));
+        game.makeMove(Position.of(0, 6), Position.of(2, 5));
+        game.makeMove(Position.of(7, 6), Position.of(5, 5));
+        game.makeMove(Position.of(2, 5), Position.of(0, 6));
+        game.makeMove(Position.of(5, 5), Position.of(7, 6));
+        game.makeMove(Position.of(0, 6), Position.of(2, 5));
+        game.makeMove(Position.of(7, 6), Position.of(5, 5));
+        game.makeMove(Position.of(2, 5), Position.of(0, 6));
+        game.makeMove(Position.of(5, 5), Position.of(7, 6));
+
+        assertEquals(3, game.getRepetitionCount());
+        assertEquals(GameStatus.THREEFOLD_REPETITION, game.getGameStatus());
+    }
+
+    @Test
+    public void positionsBeforeAPawnMoveAreNotRepeated() {
+        shuffleKnightsOutAndBack(game);
+        game.makeMove(Position.of(6, 0), Position.of(5, 0));
+        game.makeMove(Position.of(1, 0), Position.of(2, 0));
+        shuffleKnightsOutAndBack(game);
+
+        assertEquals(2, game.getRepetitionCount());
+
+        //taking back the pawn moves brings the older positions back into the count
+        for (int i = 0; i < 6; i++)
+            game.unmakeMove();
+        assertEquals(2, game.getRepetitionCount());
+        shuffleKnightsOutAndBack(game);
+        assertEquals(3, game.getRepetitionCount());
+    }
+
+    @Test
+    public void pawnsArePromotedWithoutAskingAnyone() {
+        ChessGame game = ChessGame.fromFen("4k3/P7/8/8/8/8/1p6/4K3 w - - 0 1");
+
+        game.makeMove(Position.of(1, 0), Position.of(0, 0));
+        assertTrue(game.getBoardSpace(Position.of(0, 0)).getPiece() instanceof Queen);
+
+        game.makeMove(Position.of(6, 1), Position.of(7, 1), PieceType.KNIGHT);
+        assertTrue(game.getBoardSpace(Position.of(7, 1)).getPiece() instanceof Knight);
+        assertEquals(PieceColor.BLACK, game.getBoardSpace(Position.of(7, 1)).getPiece().getPieceColor());
+    }
+
+    @Test
+    public void promotionChooserPicksThePromotedPiece() {
+        ChessGame game = ChessGame.fromFen("4k3/P7/8/8/8/8/8/4K3 w - - 0 1");
+        game.setPromotionChooser(pieceColor -> PieceType.ROOK);
+
+        game.makeMove(Position.of(1, 0), Position.of(0, 0));
+        assertTrue(game.getBoardSpace(Position.of(0, 0)).getPiece() instanceof Rook);
+
+        game.unmakeMove();
+        assertTrue(game.getBoardSpace(Position.of(1, 0)).getPiece() instanceof Pawn);
+    }
 }
@@ -0,0 +1,73 @@
+package chess.tests.model;
+
+import chess.model.ChessGame;
+import chess.model.Fen;
+import chess.model.PieceColor;
+import chess.model.Position;
+import chess.model.Perft.ReferencePosition;
+import chess.model.pieces.King;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the Fen class
+ */
+public class FenTest {
+
+    @Test
+    public void startPositionMatchesANewGame() {
+        ChessGame game = ChessGame.fromFen(Fen.START_POSITION);
+
+        assertEquals(new ChessGame().getPositionKey(), game.getPositionKey());
+        assertEquals(16, game.getWhitePieces().getAllAlivePieces().size());
+        assertEquals(16, game.getBlackPieces().getAllAlivePieces().size());
+        assertEquals(Fen.START_POSITION, new ChessGame().toFen());
+    }
+
+    @Test
+    public void referencePositionsAreWrittenBackTheSame() {
+        for (ReferencePosition position : ReferencePosition.values())
+            assertEquals(position.getFen(), ChessGame.fromFen(position.getFen()).toFen());
+    }
+
+    @Test
+    public void allFieldsAreRead() {
+        ChessGame game = ChessGame.fromFen("rnbqkbnr/pp1ppppp/8/2p5/4P3/8/PPPP1PPP/RNBQKBNR w Kq c6 0 2");
+
+        assertEquals(PieceColor.WHITE, game.getCurrentTurn());
+        assertTrue(game.hasKingSideCastlingRight(PieceColor.WHITE));
+        assertFalse(game.hasQueenSideCastlingRight(PieceColor.WHITE));
+        assertFalse(game.hasKingSideCastlingRight(PieceColor.BLACK));
+        assertTrue(game.hasQueenSideCastlingRight(PieceColor.BLACK));
+        assertEquals(Position.of(2, 2).getIndex(), game.getEnPassantSquare());
+        assertEquals(0, game.getHalfmoveClock());
+        assertEquals(2, game.getFullmoveNumber());
+        assertTrue(game.getBoardSpace(Position.of(0, 4)).getPiece() instanceof King);
+        assertSame(Position.of(7, 4), game.getWhitePieces().getKingPosition());
+    }
+
+    @Test
+    public void moveCountersFollowTheMovesMade() {
+        ChessGame game = new ChessGame();
+        game.makeMove(Position.of(6, 4), Position.of(4, 4));
+        game.makeMove(Position.of(0, 6), Position.of(2, 5));
+        game.makeMove(Position.of(7, 6), Position.of(5, 5));
+
+        assertEquals("rnbqkb1r/pppppppp/5n2/8/4P3/5N2/PPPP1PPP/RNBQKB1R b KQkq - 2 2", game.toFen());
+
+        game.unmakeMove();
+        game.unmakeMove();
+        assertEquals("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1", game.toFen());
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void rowWithTooManySpacesIsInvalid() {
+        ChessGame.fromFen("rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void unknownPieceIsInvalid() {
+        ChessGame.fromFen("rnbqkbnr/ppppxppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+    }
+}
@@ -0,0 +1,122 @@
+package chess.tests.model;
+
+import chess.model.ChessGame;
+import chess.model.GameEvent;
+import chess.model.GameEventPublisher;
+import chess.model.GameStatus;
+import chess.model.Position;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the GameEventPublisher class
+ */
+public class GameEventPublisherTest {
+
+    /**
+     * Keeps the events it gets, asking for a number of them up front
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<GameEvent> {
+        private final long requested;
+        final List<String> events = new ArrayList<>();
+        boolean completed = false;
+
+        RecordingSubscriber(long requested) {
+            this.requested = requested;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (requested > 0)
+                subscription.request(requested);
+        }
+
+        @Override
+        public void onNext(GameEvent event) {
+            events.add(event.toString());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    //delivers the events on the thread that made the move so the tests do not have to wait for them
+    private static ChessGame gameWithDirectEvents(ChessGame game, int bufferSize) {
+        game.setEventPublisher(new GameEventPublisher(Runnable::run, bufferSize));
+        return game;
+    }
+
+    @Test
+    public void movesChecksAndTheEndOfTheGameArePublished() {
+        ChessGame game = gameWithDirectEvents(new ChessGame(), 16);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        game.getEventPublisher().subscribe(subscriber);
+
+        game.makeMove(Position.of(6, 5), Position.of(5, 5));
+        game.makeMove(Position.of(1, 4), Position.of(3, 4));
+        game.makeMove(Position.of(6, 6), Position.of(4, 6));
+        game.makeMove(Position.of(0, 3), Position.of(4, 7));
+
+        assertEquals("[MOVE 1 f2f3 IN_PROGRESS, MOVE 2 e7e5 IN_PROGRESS, MOVE 3 g2g4 IN_PROGRESS, "
+                + "MOVE 4 d8h4 CHECKMATE, GAME_OVER 4 d8h4 CHECKMATE]", subscriber.events.toString());
+
+        game.getEventPublisher().close();
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void capturesPromotionsAndChecksArePublished() {
+        ChessGame game = gameWithDirectEvents(ChessGame.fromFen("1n2k3/P7/8/8/8/8/8/4K3 w - - 0 1"), 16);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        game.getEventPublisher().subscribe(subscriber);
+
+        game.makeMove(Position.of(1, 0), Position.of(0, 1));
+
+        assertEquals("[MOVE 1 a7b8q CHECK, CAPTURE 1 a7b8q CHECK, PROMOTION 1 a7b8q CHECK, CHECK 1 a7b8q CHECK]",
+                subscriber.events.toString());
+    }
+
+    @Test
+    public void slowSubscribersDoNotHoldUpMoves() {
+        ChessGame game = gameWithDirectEvents(new ChessGame(), 2);
+        RecordingSubscriber slow = new RecordingSubscriber(0);
+        RecordingSubscriber fast = new RecordingSubscriber(Long.MAX_VALUE);
+        game.getEventPublisher().subscribe(slow);
+        game.getEventPublisher().subscribe(fast);
+
+        for (int i = 0; i < 10; i++) {
+            game.makeMove(Position.of(7, 6), Position.of(5, 5));
+            game.makeMove(Position.of(0, 6), Position.of(2, 5));
+            game.makeMove(Position.of(5, 5), Position.of(7, 6));
+            game.makeMove(Position.of(2, 5), Position.of(0, 6));
+            if (game.getGameStatus().isGameOver())
+                break;
+        }
+
+        assertEquals(0, slow.events.size());
+        assertEquals(9, fast.events.size());
+        assertTrue(fast.events.get(8).startsWith("GAME_OVER 8"));
+        assertEquals(GameStatus.THREEFOLD_REPETITION, game.getGameStatus());
+        assertTrue(game.getEventPublisher().getDroppedEvents() > 0);
+    }
+
+    @Test
+    public void gamesWithoutSubscribersDoNotPublish() {
+        ChessGame game = new ChessGame();
+        game.makeMove(Position.of(6, 4), Position.of(4, 4));
+
+        assertFalse(game.getEventPublisher().hasSubscribers());
+        assertEquals(0, game.getEventPublisher().getDroppedEvents());
+    }
+}
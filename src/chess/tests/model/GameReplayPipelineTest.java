@@ -0,0 +1,124 @@
+package chess.tests.model;
+
+import chess.model.GameReplayPipeline;
+import chess.model.GameReplayResult;
+import chess.model.GameStatus;
+import chess.model.PgnReader;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the GameReplayPipeline class
+ */
+public class GameReplayPipelineTest {
+
+    private static final String SCHOLARS_MATE = "[White \"A\"]\n1. e4 e5 2. Qh5 Nc6 3. Bc4 Nf6 4. Qxf7# 1-0\n\n";
+    private static final String ILLEGAL_GAME = "1. e4 e5 2. Ke3 1-0\n\n";
+    private static final String PROMOTION_GAME = "[FEN \"4k3/1P6/8/8/8/8/8/4K3 w - - 0 1\"]\n1. b8=Q+ Kd7 *\n\n";
+
+    private static String pgn(int copies) {
+        StringBuilder pgn = new StringBuilder();
+        for (int i = 0; i < copies; i++)
+            pgn.append(SCHOLARS_MATE).append(ILLEGAL_GAME).append(PROMOTION_GAME);
+
+        return pgn.toString();
+    }
+
+    @Test
+    public void orderedResultsFollowTheFile() throws Exception {
+        List<GameReplayResult> results = new ArrayList<>();
+        GameReplayPipeline.Stats stats = new GameReplayPipeline(4, true)
+                .replay(new PgnReader(new StringReader(pgn(100))), results::add);
+
+        assertEquals(300, stats.getGames());
+        assertEquals(100, stats.getInvalidGames());
+        assertEquals(100 * (7 + 2 + 2), stats.getPlies());
+
+        for (int i = 0; i < results.size(); i++) {
+            GameReplayResult result = results.get(i);
+            assertEquals(i + 1, result.getGameNumber());
+
+            switch (i % 3) {
+                case 0:
+                    assertTrue(result.isValid());
+                    assertEquals("A", result.getTags().get("White"));
+                    assertEquals(GameStatus.CHECKMATE, result.getStatus());
+                    assertEquals(7, result.getPlies());
+                    break;
+                case 1:
+                    assertFalse(result.isValid());
+                    assertTrue(result.getError().contains("Ke3"));
+                    assertEquals(2, result.getPlies());
+                    break;
+                default:
+                    assertTrue(result.isValid());
+                    assertEquals(GameStatus.IN_PROGRESS, result.getStatus());
+                    assertEquals("*", result.getResult());
+                    break;
+            }
+        }
+    }
+
+    @Test
+    public void unorderedResultsHaveEveryGame() throws Exception {
+        boolean[] seen = new boolean[301];
+        GameReplayPipeline.Stats stats = new GameReplayPipeline(3, false)
+                .replay(new PgnReader(new StringReader(pgn(100))), result -> seen[result.getGameNumber()] = true);
+
+        assertEquals(300, stats.getGames());
+        for (int i = 1; i < seen.length; i++)
+            assertTrue(seen[i]);
+    }
+
+    @Test
+    public void singleThreadReusesItsGameForEveryGame() throws Exception {
+        List<GameReplayResult> results = new ArrayList<>();
+        new GameReplayPipeline(1, true).replay(new PgnReader(new StringReader(SCHOLARS_MATE + SCHOLARS_MATE)), results::add);
+
+        assertEquals(2, results.size());
+        assertEquals(GameStatus.CHECKMATE, results.get(1).getStatus());
+        assertTrue(results.get(1).isValid());
+    }
+
+    @Test
+    public void illegalMoveInAFenGameKeepsTheMovesAndTagsBeforeIt() throws Exception {
+        String pgn = "[Event \"Endgame\"]\n[FEN \"4k3/8/8/8/8/8/4P3/4K3 w - - 0 1\"]\n1. e4 Kd7 2. e5 Ke6 3. e7 1-0\n\n";
+        List<GameReplayResult> results = new ArrayList<>();
+        new GameReplayPipeline(1, true).replay(new PgnReader(new StringReader(pgn + SCHOLARS_MATE)), results::add);
+
+        GameReplayResult result = results.get(0);
+        assertFalse(result.isValid());
+        assertTrue(result.getError().contains("e7"));
+        assertEquals(4, result.getPlies());
+        assertEquals(GameStatus.IN_PROGRESS, result.getStatus());
+        assertEquals("Endgame", result.getTags().get("Event"));
+        assertEquals("1-0", result.getResult());
+
+        //the worker's own game was not used for the FEN game and is still ready for the next one
+        assertTrue(results.get(1).isValid());
+        assertEquals(7, results.get(1).getPlies());
+    }
+
+    @Test(timeout = 5000)
+    public void malformedGameDoesNotStopTheGamesAfterIt() throws Exception {
+        String pgn = "1. e4 e5 2. Nf3 } Nc6 1-0\n\n1. e4 ) e5 1-0\n\n";
+        List<GameReplayResult> results = new ArrayList<>();
+        GameReplayPipeline.Stats stats = new GameReplayPipeline(2, true)
+                .replay(new PgnReader(new StringReader(pgn + SCHOLARS_MATE)), results::add);
+
+        assertEquals(3, stats.getGames());
+        assertEquals(2, stats.getInvalidGames());
+        assertFalse(results.get(0).isValid());
+        assertEquals(3, results.get(0).getPlies());
+        assertFalse(results.get(1).isValid());
+
+        assertTrue(results.get(2).isValid());
+        assertEquals(GameStatus.CHECKMATE, results.get(2).getStatus());
+        assertEquals(7, results.get(2).getPlies());
+    }
+}
@@ -0,0 +1,90 @@
+package chess.tests.model;
+
+import chess.model.BitBoard;
+import chess.model.ChessGame;
+import chess.model.Perft;
+import chess.model.PieceColor;
+import chess.model.Position;
+import chess.model.pieces.ChessPiece;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the legal moves worked out from checks and pins
+ */
+public class LegalMoveGeneratorTest {
+
+    private static long bit(int row, int col) {
+        return 1L << BitBoard.toSpaceIndex(row, col);
+    }
+
+    @Test
+    public void pinnedPieceCanOnlyMoveAlongThePin() {
+        //white rook on e2 is pinned to the king on e1 by the rook on e8
+        ChessGame game = ChessGame.fromFen("4r2k/8/8/8/8/8/4R3/4K3 w - - 0 1");
+
+        long expected = bit(0, 4) | bit(1, 4) | bit(2, 4) | bit(3, 4) | bit(4, 4) | bit(5, 4);
+        assertEquals(expected, game.getLegalMoveMask(Position.of(6, 4)));
+    }
+
+    @Test
+    public void onlyTheKingCanMoveInDoubleCheck() {
+        //the knight on f3 and the rook on e8 both check the king on e1
+        ChessGame game = ChessGame.fromFen("4r2k/8/8/8/8/5n2/8/R3K3 w - - 0 1");
+
+        assertEquals(0L, game.getLegalMoveMask(Position.of(7, 0)));
+        assertNotEquals(0L, game.getLegalMoveMask(Position.of(7, 4)));
+    }
+
+    @Test
+    public void checkCanBeBlocked() {
+        //the rook on d1 can only block the bishop on a5 by moving to d2
+        ChessGame game = ChessGame.fromFen("7k/8/8/b7/8/8/8/3RK3 w - - 0 1");
+
+        assertEquals(bit(6, 3), game.getLegalMoveMask(Position.of(7, 3)));
+    }
+
+    @Test
+    public void enPassantThatUncoversACheckIsNotAllowed() {
+        //taking on c6 would take both pawns off the row between the king and the rook
+        ChessGame game = ChessGame.fromFen("7k/8/8/KPp4r/8/8/8/8 w - c6 0 2");
+
+        assertEquals(bit(2, 1), game.getLegalMoveMask(Position.of(3, 1)));
+    }
+
+    @Test
+    public void enPassantIsAllowedWhenItIsSafe() {
+        ChessGame game = ChessGame.fromFen("7k/8/8/1Pp5/8/8/8/K7 w - c6 0 2");
+
+        assertEquals(bit(2, 1) | bit(2, 2), game.getLegalMoveMask(Position.of(3, 1)));
+    }
+
+    @Test
+    public void legalMovesMatchTryingEachMove() {
+        for (Perft.ReferencePosition position : Perft.ReferencePosition.values()) {
+            ChessGame game = ChessGame.fromFen(position.getFen());
+
+            List<ChessPiece> pieces = new ArrayList<>(game.getWhitePieces().getAllAlivePieces());
+            pieces.addAll(game.getBlackPieces().getAllAlivePieces());
+
+            for (ChessPiece piece : pieces) {
+                if (piece.getPieceColor() != game.getCurrentTurn())
+                    continue;
+
+                List<Position> triedMoves = new ArrayList<>();
+                for (Position move : piece.getLegalMoves(game, false)) {
+                    if (!game.moveCausesCheckForItsOwnKing(piece.getPosition(), move))
+                        triedMoves.add(move);
+                }
+
+                List<Position> legalMoves = piece.getLegalMoves(game, true);
+                assertTrue(position + " " + piece.getPosition(), triedMoves.containsAll(legalMoves));
+                assertTrue(position + " " + piece.getPosition(), legalMoves.containsAll(triedMoves));
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package chess.tests.model;
+
+import chess.model.*;
+import chess.model.pieces.Pawn;
+import chess.model.pieces.Queen;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the PackedMove class
+ */
+public class PackedMoveTest {
+
+    @Test
+    public void fieldsArePackedAndUnpacked() {
+        int move = PackedMove.encode(12, 4, PieceType.PAWN, PieceColor.BLACK, PieceType.ROOK, PieceType.KNIGHT, PackedMove.CHECK);
+
+        assertEquals(12, PackedMove.getFrom(move));
+        assertEquals(4, PackedMove.getTo(move));
+        assertEquals(PieceType.PAWN, PackedMove.getPieceType(move));
+        assertEquals(PieceColor.BLACK, PackedMove.getPieceColor(move));
+        assertEquals(PieceType.ROOK, PackedMove.getCapturedType(move));
+        assertEquals(PieceType.KNIGHT, PackedMove.getPromotionType(move));
+        assertTrue(PackedMove.hasFlag(move, PackedMove.CHECK));
+        assertFalse(PackedMove.hasFlag(move, PackedMove.CHECKMATE));
+    }
+
+    @Test
+    public void quietMoveHasNoCaptureOrPromotion() {
+        int move = PackedMove.encode(63, 0, PieceType.KING, PieceColor.WHITE, null, null, 0);
+
+        assertEquals(63, PackedMove.getFrom(move));
+        assertEquals(0, PackedMove.getTo(move));
+        assertEquals(PieceColor.WHITE, PackedMove.getPieceColor(move));
+        assertFalse(PackedMove.isCapture(move));
+        assertFalse(PackedMove.isPromotion(move));
+        assertNull(PackedMove.getCapturedType(move));
+        assertNull(PackedMove.getPromotionType(move));
+    }
+
+    @Test
+    public void moveObjectSurvivesPackingAndUnpacking() {
+        Move move = new Move(new Pawn(PieceColor.WHITE), Position.of(1, 3), Position.of(0, 4));
+        move.setAsCaptureMove(new Queen(PieceColor.BLACK), Position.of(0, 4));
+        move.setAsPawnPromotion(new Queen(PieceColor.WHITE));
+        move.setAsCheck();
+
+        Move unpacked = PackedMove.toMove(PackedMove.fromMove(move));
+
+        assertSame(Position.of(1, 3), unpacked.getStartPosition());
+        assertSame(Position.of(0, 4), unpacked.getEndPosition());
+        assertEquals(move.getAlgebraicNotation(), unpacked.getAlgebraicNotation());
+        assertEquals(move.getDetailedDescription(), unpacked.getDetailedDescription());
+    }
+
+    @Test
+    public void coordinateNotation() {
+        int move = PackedMove.encode(Position.of(1, 4).getIndex(), Position.of(0, 4).getIndex(),
+                PieceType.PAWN, PieceColor.WHITE, null, PieceType.QUEEN, 0);
+
+        assertEquals("e7e8q", PackedMove.toCoordinateNotation(move));
+    }
+
+    @Test
+    public void gameKeepsPackedHistory() {
+        ChessGame game = new ChessGame();
+        game.makeMove(Position.of(6, 4), Position.of(4, 4));
+        game.makeMove(Position.of(1, 3), Position.of(3, 3));
+        game.makeMove(Position.of(4, 4), Position.of(3, 3));
+
+        assertEquals(3, game.getMoveHistorySize());
+        int capture = game.getPackedMove(2);
+        assertEquals("e4d5", PackedMove.toCoordinateNotation(capture));
+        assertEquals(PieceType.PAWN, PackedMove.getCapturedType(capture));
+        assertEquals("exd5", game.getGameHistory().get(2).getAlgebraicNotation());
+
+        game.unmakeMove();
+        assertEquals(2, game.getMoveHistorySize());
+        assertArrayEquals(new int[] {game.getPackedMove(0), game.getPackedMove(1)}, game.getPackedMoveHistory());
+    }
+}
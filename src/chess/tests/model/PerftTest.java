@@ -0,0 +1,82 @@
+package chess.tests.model;
+
+import chess.model.ChessGame;
+import chess.model.Perft;
+import chess.model.Perft.ReferencePosition;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the legal moves against the known perft counts. Only the shallow depths are
+ * used so the tests stay fast, run Perft.main for the deeper ones.
+ */
+public class PerftTest {
+
+    private void assertPerft(ReferencePosition position, int depth) {
+        ChessGame game = ChessGame.fromFen(position.getFen());
+        assertEquals(position.getExpectedNodes(depth), Perft.perft(game, depth));
+    }
+
+    @Test
+    public void startPosition() {
+        assertPerft(ReferencePosition.START, 3);
+    }
+
+    @Test
+    public void kiwipete() {
+        assertPerft(ReferencePosition.KIWIPETE, 2);
+    }
+
+    @Test
+    public void enPassantDiscoveredCheck() {
+        assertPerft(ReferencePosition.EN_PASSANT_DISCOVERED_CHECK, 3);
+    }
+
+    @Test
+    public void promotionAndCastling() {
+        assertPerft(ReferencePosition.PROMOTION_AND_CASTLING, 3);
+    }
+
+    @Test
+    public void promotionIntoCheck() {
+        assertPerft(ReferencePosition.PROMOTION_INTO_CHECK, 2);
+    }
+
+    @Test
+    public void middlegame() {
+        assertPerft(ReferencePosition.MIDDLEGAME, 2);
+    }
+
+    @Test
+    public void perftLeavesThePositionUnchanged() {
+        ChessGame game = ChessGame.fromFen(ReferencePosition.KIWIPETE.getFen());
+        long key = game.getPositionKey();
+
+        Perft.perft(game, 2);
+
+        assertEquals(key, game.getPositionKey());
+        assertEquals(16, game.getWhitePieces().getAllAlivePieces().size());
+    }
+
+    @Test
+    public void divideAddsUpToPerft() {
+        ChessGame game = new ChessGame();
+        Map<String, Long> nodesPerMove = Perft.divide(game, 2);
+
+        long nodes = 0;
+        for (long moveNodes : nodesPerMove.values())
+            nodes += moveNodes;
+
+        assertEquals(20, nodesPerMove.size());
+        assertEquals(Long.valueOf(20), nodesPerMove.get("e2e4"));
+        assertEquals(400, nodes);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void divideNeedsAtLeastOneMove() {
+        Perft.divide(new ChessGame(), 0);
+    }
+}
@@ -0,0 +1,136 @@
+package chess.tests.model;
+
+import chess.model.ChessGame;
+import chess.model.PgnException;
+import chess.model.PgnGame;
+import chess.model.PgnReader;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the PgnReader class
+ */
+public class PgnReaderTest {
+
+    private static PgnReader reader(String pgn) {
+        return new PgnReader(new StringReader(pgn));
+    }
+
+    @Test
+    public void tagsAndMovesAreRead() throws IOException {
+        PgnGame game = reader("[Event \"Test \\\"match\\\"\"]\n[White \"A\"]\n[Black \"B\"]\n[Result \"1-0\"]\n\n"
+                + "1. e4 e5 2. Qh5 Nc6 3. Bc4 Nf6 4. Qxf7# 1-0\n").readGame();
+
+        assertEquals(1, game.getGameNumber());
+        assertEquals("Test \"match\"", game.getTag("Event"));
+        assertEquals("A", game.getTag("White"));
+        assertEquals("1-0", game.getResult());
+        assertEquals(7, game.getGame().getMoveHistorySize());
+        assertTrue(game.getGame().isCheckmate());
+    }
+
+    @Test
+    public void commentsVariationsAndGlyphsAreSkipped() throws IOException {
+        PgnGame game = reader("1.e4 {best by test} e5 $1 2. Nf3 (2. f4 exf4 (2... d5) 3. Nf3) 2... Nc6 ; a comment\n"
+                + "3. Bb5!? a6 *").readGame();
+
+        assertEquals("*", game.getResult());
+        assertEquals("r1bqkbnr/1ppp1ppp/p1n5/1B2p3/4P3/5N2/PPPP1PPP/RNBQK2R w KQkq - 0 4", game.getGame().toFen());
+    }
+
+    @Test
+    public void disambiguationCastlingAndPromotionAreResolved() throws IOException {
+        //the pawn promotes with a capture and white castles with both rooks still able to move
+        PgnGame game = reader("[FEN \"r3k2r/1P6/8/8/8/8/8/R3K2R w KQkq - 0 1\"]\n"
+                + "1. bxa8=Q+ Kf7 2. Qb7+ Kg6 3. O-O Rd8 *").readGame();
+
+        assertEquals("3r4/1Q6/6k1/8/8/8/8/R4RK1 w - - 5 4", game.getGame().toFen());
+
+        game = reader("[FEN \"4k3/8/8/8/8/8/8/1N1K1N2 w - - 0 1\"]\n1. Nbd2 Kd7 2. Nfe3 *").readGame();   //both knights can go to d2
+        assertEquals("8/3k4/8/8/8/4N3/3N4/3K4 b - - 3 2", game.getGame().toFen());
+    }
+
+    @Test
+    public void gamesAreHandedToTheConsumerOneAtATime() throws IOException {
+        List<String> results = new ArrayList<>();
+        int games = reader("[Result \"1-0\"]\n1. e4 1-0\n\n[Result \"0-1\"]\n1. d4 d5 0-1\n\n1. c4 1/2-1/2\n")
+                .readAll(game -> results.add(game.getResult()));
+
+        assertEquals(3, games);
+        assertEquals("[1-0, 0-1, 1/2-1/2]", results.toString());
+    }
+
+    @Test
+    public void readingContinuesAfterAnIllegalMove() throws IOException {
+        PgnReader reader = reader("1. e4 e5 2. Ke3 Nc6 1-0\n\n1. d4 *\n");
+
+        try {
+            reader.readGame();
+            fail("Ke3 is not legal");
+        } catch (PgnException e) {
+            assertTrue(e.getMessage().contains("Ke3"));
+            assertEquals(2, e.getPartialGame().getGame().getMoveHistorySize());
+            assertEquals("1-0", e.getPartialGame().getResult());
+        }
+
+        PgnGame game = reader.readGame();
+        assertEquals(2, game.getGameNumber());
+        assertEquals(1, game.getGame().getMoveHistorySize());
+        assertNull(reader.readGame());
+    }
+
+    @Test
+    public void readAllRecordsBadGamesAndKeepsGoing() throws IOException {
+        List<PgnGame> games = new ArrayList<>();
+        int count = reader("[Event \"A\"]\n1. e4 e5 2. Ke3 Nc6 3. Nf3 1-0\n\n"
+                + "[Event \"B\"]\n[FEN \"not a position\"]\n1. e4 *\n\n"
+                + "[Event \"C\"]\n1. d4 d5 *\n").readAll(games::add);
+
+        assertEquals(3, count);
+
+        assertFalse(games.get(0).isValid());
+        assertTrue(games.get(0).getError().contains("Ke3"));
+        assertEquals("A", games.get(0).getTag("Event"));
+        assertEquals(2, games.get(0).getGame().getMoveHistorySize());
+
+        assertFalse(games.get(1).isValid());
+        assertEquals("B", games.get(1).getTag("Event"));
+        assertNull(games.get(1).getGame());
+
+        assertTrue(games.get(2).isValid());
+        assertEquals(3, games.get(2).getGameNumber());
+        assertEquals(2, games.get(2).getGame().getMoveHistorySize());
+    }
+
+    @Test
+    public void emptyInputHasNoGames() throws IOException {
+        assertNull(reader("  \n").readGame());
+        assertEquals(ChessGame.class, reader("1. e4 *").readGame().getGame().getClass());
+    }
+
+    @Test(timeout = 5000)
+    public void strayClosingBracketsAreBadGamesInsteadOfHangingTheReader() throws IOException {
+        List<PgnGame> games = new ArrayList<>();
+        int count = reader("1. e4 e5 2. Nf3 } Nc6 1-0\n\n1. e4 ) e5 1-0\n\n1. d4 d5 *\n").readAll(games::add);
+
+        assertEquals(3, count);
+
+        assertFalse(games.get(0).isValid());
+        assertTrue(games.get(0).getError().contains("}"));
+        assertEquals(3, games.get(0).getGame().getMoveHistorySize());
+        assertEquals("1-0", games.get(0).getResult());
+
+        assertFalse(games.get(1).isValid());
+        assertTrue(games.get(1).getError().contains(")"));
+        assertEquals(1, games.get(1).getGame().getMoveHistorySize());
+
+        assertTrue(games.get(2).isValid());
+        assertEquals(2, games.get(2).getGame().getMoveHistorySize());
+    }
+}
@@ -1,12 +1,14 @@
 package chess.tests.model;
 
 import chess.model.PieceColor;
+import chess.model.PieceType;
 import chess.model.PlayerPieceSet;
 import chess.model.Position;
 import chess.model.pieces.*;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static junit.framework.Assert.assertEquals;
@@ -26,15 +28,15 @@ public class PlayerPieceSetTest {
     }
     @Test
     public void addingAPieceThrowsNoErrors() {
-        King king = set.addPiece(King.class, new Position(1, 1));
-        Pawn pawn = set.addPiece(Pawn.class, new Position(1, 2));
-        Rook rook = set.addPiece(Rook.class, new Position(1, 3));
+        King king = set.addPiece(King.class, Position.of(1, 1));
+        Pawn pawn = set.addPiece(Pawn.class, Position.of(1, 2));
+        Rook rook = set.addPiece(Rook.class, Position.of(1, 3));
     }
 
     @Test
     public void addingAPieceReturnsObjectOfTheRightClass() {
-        King king = set.addPiece(King.class, new Position(1, 1));
-        Pawn pawn = set.addPiece(Pawn.class, new Position(1, 2));
+        King king = set.addPiece(King.class, Position.of(1, 1));
+        Pawn pawn = set.addPiece(Pawn.class, Position.of(1, 2));
 
         assertEquals(king.getClass(), King.class);
         assertEquals(pawn.getClass(), Pawn.class);
@@ -42,16 +44,16 @@ public class PlayerPieceSetTest {
 
     @Test (expected = RuntimeException.class)
     public void settingAPieceInAnAlreadyOccupiedPosition() {
-        set.addPiece(King.class, new Position(1, 1));
-        set.addPiece(Pawn.class, new Position(1, 1));
+        set.addPiece(King.class, Position.of(1, 1));
+        set.addPiece(Pawn.class, Position.of(1, 1));
     }
 
     @Test
     public void getPieceOfTypeOnlyGetsPieceOfThatType() {
-        set.addPiece(King.class, new Position(1, 1));
-        set.addPiece(Pawn.class, new Position(1, 2));
-        set.addPiece(Pawn.class, new Position(1, 3));
-        set.addPiece(Pawn.class, new Position(1, 4));
+        set.addPiece(King.class, Position.of(1, 1));
+        set.addPiece(Pawn.class, Position.of(1, 2));
+        set.addPiece(Pawn.class, Position.of(1, 3));
+        set.addPiece(Pawn.class, Position.of(1, 4));
 
         List<ChessPiece> pawns = set.getAllPiecesOfType(Pawn.class);
         for (ChessPiece piece : pawns)
@@ -60,11 +62,11 @@ public class PlayerPieceSetTest {
 
     @Test
     public void getPiecesReturnsCorrectNumberOfPieces() {
-        set.addPiece(King.class, new Position(1, 1));
-        set.addPiece(Pawn.class, new Position(1, 2));
-        set.addPiece(Pawn.class, new Position(1, 3));
-        set.addPiece(Pawn.class, new Position(1, 4));
-        set.addPiece(Queen.class, new Position(1, 5));
+        set.addPiece(King.class, Position.of(1, 1));
+        set.addPiece(Pawn.class, Position.of(1, 2));
+        set.addPiece(Pawn.class, Position.of(1, 3));
+        set.addPiece(Pawn.class, Position.of(1, 4));
+        set.addPiece(Queen.class, Position.of(1, 5));
 
         List<ChessPiece> pawns = set.getAllPiecesOfType(Pawn.class);
         List<ChessPiece> queens = set.getAllPiecesOfType(Queen.class);
@@ -75,4 +77,61 @@ public class PlayerPieceSetTest {
         assertEquals(allPieces.size(), 5);
 
     }
+
+    @Test
+    public void pieceCanBeLookedUpByItsPosition() {
+        King king = set.addPiece(King.class, Position.of(7, 4));
+        ChessPiece pawn = set.addPiece(PieceType.PAWN, Position.of(6, 4));
+
+        assertSame(king, set.getPieceAtPosition(Position.of(7, 4)));
+        assertSame(pawn, set.getPieceAtPosition(Position.of(6, 4)));
+        assertNull(set.getPieceAtPosition(Position.of(5, 4)));
+        assertSame(Position.of(7, 4), set.getKingPosition());
+    }
+
+    @Test
+    public void movingAPieceUpdatesItsPosition() {
+        King king = set.addPiece(King.class, Position.of(7, 4));
+
+        set.movePiece(Position.of(7, 4), Position.of(7, 5));
+
+        assertNull(set.getPieceAtPosition(Position.of(7, 4)));
+        assertSame(king, set.getPieceAtPosition(Position.of(7, 5)));
+        assertSame(Position.of(7, 5), set.getKingPosition());
+    }
+
+    @Test
+    public void restoringACapturedPieceUndoesTheCapture() {
+        set.addPiece(King.class, Position.of(7, 4));
+        Rook rook = set.addPiece(Rook.class, Position.of(7, 0));
+        set.addPiece(Pawn.class, Position.of(6, 0));
+        set.addPiece(Queen.class, Position.of(7, 3));
+        List<ChessPiece> piecesBefore = new ArrayList<>(set.getAllAlivePieces());
+
+        int index = set.indexOfAlivePiece(rook);
+        set.capture(rook);
+
+        assertEquals(3, set.getAllAlivePieces().size());
+        assertEquals(-1, set.indexOfAlivePiece(rook));
+        assertNull(set.getPieceAtPosition(Position.of(7, 0)));
+        assertTrue(set.getAlivePiecesOfType(PieceType.ROOK).isEmpty());
+        assertEquals(1, set.getAllCapturedPieces().size());
+
+        set.restore(rook, index);
+
+        assertEquals(piecesBefore, set.getAllAlivePieces());
+        assertSame(rook, set.getPieceAtPosition(Position.of(7, 0)));
+        assertEquals(1, set.getAlivePiecesOfType(PieceType.ROOK).size());
+        assertTrue(set.getAllCapturedPieces().isEmpty());
+        for (int i = 0; i < piecesBefore.size(); i++)
+            assertEquals(i, set.indexOfAlivePiece(piecesBefore.get(i)));
+    }
+
+    @Test
+    public void capturingTheKingClearsItsPosition() {
+        King king = set.addPiece(King.class, Position.of(7, 4));
+        set.capture(king);
+
+        assertNull(set.getKingPosition());
+    }
 }
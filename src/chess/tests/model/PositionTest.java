@@ -0,0 +1,38 @@
+package chess.tests.model;
+
+import chess.model.BitBoard;
+import chess.model.Position;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the Position class
+ */
+public class PositionTest {
+
+    @Test
+    public void thereIsOnlyOneInstanceForEachSpace() {
+        assertSame(Position.of(3, 5), Position.of(3, 5));
+        assertSame(Position.of(3, 5), Position.of(29));
+    }
+
+    @Test
+    public void indexMatchesTheBitBoard() {
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                Position position = Position.of(row, col);
+                assertEquals(BitBoard.toSpaceIndex(row, col), position.getIndex());
+                assertEquals(row, position.getRow());
+                assertEquals(col, position.getCol());
+            }
+        }
+    }
+
+    @Test
+    public void spacesOffTheBoardHaveNoPosition() {
+        assertNull(Position.of(-1, 0));
+        assertNull(Position.of(0, 8));
+        assertNull(Position.of(8, 3));
+    }
+}
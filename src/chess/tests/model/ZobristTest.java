@@ -0,0 +1,114 @@
+package chess.tests.model;
+
+import chess.model.ChessGame;
+import chess.model.Position;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the position keys kept by ChessGame
+ */
+public class ZobristTest {
+
+    ChessGame game;
+
+    @Before
+    public void setUp() {
+        game = new ChessGame();
+    }
+
+    private void move(int fromRow, int fromCol, int toRow, int toCol) {
+        game.makeMove(Position.of(fromRow, fromCol), Position.of(toRow, toCol));
+    }
+
+    @Test
+    public void newGamesHaveTheSameKey() {
+        assertEquals(new ChessGame().getPositionKey(), game.getPositionKey());
+    }
+
+    @Test
+    public void movingKnightsOutAndBackGivesTheStartingKey() {
+        long startKey = game.getPositionKey();
+
+        move(7, 6, 5, 5);
+        move(0, 6, 2, 5);
+        assertNotEquals(startKey, game.getPositionKey());
+
+        move(5, 5, 7, 6);
+        move(2, 5, 0, 6);
+        assertEquals(startKey, game.getPositionKey());
+    }
+
+    @Test
+    public void differentMoveOrdersReachTheSameKey() {
+        move(7, 6, 5, 5);
+        move(0, 1, 2, 2);
+        move(7, 1, 5, 2);
+        move(0, 6, 2, 5);
+
+        ChessGame otherGame = new ChessGame();
+        otherGame.makeMove(Position.of(7, 1), Position.of(5, 2));
+        otherGame.makeMove(Position.of(0, 6), Position.of(2, 5));
+        otherGame.makeMove(Position.of(7, 6), Position.of(5, 5));
+        otherGame.makeMove(Position.of(0, 1), Position.of(2, 2));
+
+        assertEquals(otherGame.getPositionKey(), game.getPositionKey());
+    }
+
+    @Test
+    public void sideToMoveChangesTheKey() {
+        long startKey = game.getPositionKey();
+        game.changeTurns();
+        assertNotEquals(startKey, game.getPositionKey());
+    }
+
+    @Test
+    public void losingCastlingEligibilityChangesTheKey() {
+        move(6, 4, 4, 4);
+        move(1, 4, 3, 4);
+        long keyBeforeKingMoves = game.getPositionKey();
+
+        move(7, 4, 6, 4);
+        move(0, 4, 1, 4);
+        move(6, 4, 7, 4);
+        move(1, 4, 0, 4);
+
+        assertNotEquals(keyBeforeKingMoves, game.getPositionKey());
+    }
+
+    @Test
+    public void enPassantChangesTheKey() {
+        game = ChessGame.fromFen("4k3/8/8/8/3p4/8/4P3/4K3 w - - 0 1");
+        move(6, 4, 4, 4);
+        long keyWithEnPassant = game.getPositionKey();
+
+        ChessGame otherGame = ChessGame.fromFen("4k3/8/8/8/3p4/8/4P3/4K3 w - - 0 1");
+        otherGame.makeMove(Position.of(6, 4), Position.of(5, 4));
+        otherGame.changeTurns();
+        otherGame.makeMove(Position.of(5, 4), Position.of(4, 4));
+
+        assertNotEquals(keyWithEnPassant, otherGame.getPositionKey());
+    }
+
+    @Test
+    public void enPassantNoPawnCanTakeDoesNotChangeTheKey() {
+        move(6, 4, 4, 4);
+
+        ChessGame otherGame = new ChessGame();
+        otherGame.makeMove(Position.of(6, 4), Position.of(5, 4));
+        otherGame.changeTurns();
+        otherGame.makeMove(Position.of(5, 4), Position.of(4, 4));
+
+        assertEquals(game.getPositionKey(), otherGame.getPositionKey());
+    }
+
+    @Test
+    public void unmakeMoveRestoresTheKey() {
+        long startKey = game.getPositionKey();
+        move(6, 4, 4, 4);
+        game.unmakeMove();
+        assertEquals(startKey, game.getPositionKey());
+    }
+}
@@ -46,9 +46,9 @@
 //        List<Position> legalMoves = game.getLegalMoves(game.getBoard()[Y][X].getPiece());
 //
 //        List<Position> whatResultsShouldBe = new ArrayList<>();
-//        whatResultsShouldBe.add(new Position(0, 1));
-//        whatResultsShouldBe.add(new Position(1, 0));
-//        whatResultsShouldBe.add(new Position(1, 1));
+//        whatResultsShouldBe.add(Position.of(0, 1));
+//        whatResultsShouldBe.add(Position.of(1, 0));
+//        whatResultsShouldBe.add(Position.of(1, 1));
 //
 //        assertTrue(legalMoves.size() == whatResultsShouldBe.size());
 //        assertTrue(whatResultsShouldBe.containsAll(legalMoves) && legalMoves.containsAll(whatResultsShouldBe));
@@ -63,9 +63,9 @@
 //        List<Position> legalMoves = game.getLegalMoves(game.getBoard()[Y][X].getPiece());
 //
 //        List<Position> whatResultsShouldBe = new ArrayList<>();
-//        whatResultsShouldBe.add(new Position(7, 1));
-//        whatResultsShouldBe.add(new Position(6, 0));
-//        whatResultsShouldBe.add(new Position(6, 1));
+//        whatResultsShouldBe.add(Position.of(7, 1));
+//        whatResultsShouldBe.add(Position.of(6, 0));
+//        whatResultsShouldBe.add(Position.of(6, 1));
 //
 //        assertTrue(legalMoves.size() == whatResultsShouldBe.size());
 //        assertTrue(whatResultsShouldBe.containsAll(legalMoves) && legalMoves.containsAll(whatResultsShouldBe));
@@ -80,9 +80,9 @@
 //        List<Position> legalMoves = game.getLegalMoves(game.getBoard()[Y][X].getPiece());
 //
 //        List<Position> whatResultsShouldBe = new ArrayList<>();
-//        whatResultsShouldBe.add(new Position(0, 6));
-//        whatResultsShouldBe.add(new Position(1, 6));
-//        whatResultsShouldBe.add(new Position(1, 7));
+//        whatResultsShouldBe.add(Position.of(0, 6));
+//        whatResultsShouldBe.add(Position.of(1, 6));
+//        whatResultsShouldBe.add(Position.of(1, 7));
 //
 //        assertTrue(legalMoves.size() == whatResultsShouldBe.size());
 //        assertTrue(whatResultsShouldBe.containsAll(legalMoves) && legalMoves.containsAll(whatResultsShouldBe));
@@ -97,9 +97,9 @@
 //        List<Position> legalMoves = game.getLegalMoves(game.getBoard()[Y][X].getPiece());
 //
 //        List<Position> whatResultsShouldBe = new ArrayList<>();
-//        whatResultsShouldBe.add(new Position(6, 6));
-//        whatResultsShouldBe.add(new Position(6, 7));
-//        whatResultsShouldBe.add(new Position(7, 6));
+//        whatResultsShouldBe.add(Position.of(6, 6));
+//        whatResultsShouldBe.add(Position.of(6, 7));
+//        whatResultsShouldBe.add(Position.of(7, 6));
 //
 //        assertTrue(legalMoves.size() == whatResultsShouldBe.size());
 //        assertTrue(whatResultsShouldBe.containsAll(legalMoves) && legalMoves.containsAll(whatResultsShouldBe));
@@ -114,11 +114,11 @@
 //        List<Position> legalMoves = game.getLegalMoves(game.getBoard()[Y][X].getPiece());
 //
 //        List<Position> whatResultsShouldBe = new ArrayList<>();
-//        whatResultsShouldBe.add(new Position(0, 3));
-//        whatResultsShouldBe.add(new Position(0, 5));
-//        whatResultsShouldBe.add(new Position(1, 3));
-//        whatResultsShouldBe.add(new Position(1, 4));
-//        whatResultsShouldBe.add(new Position(1, 5));
+//        whatResultsShouldBe.add(Position.of(0, 3));
+//        whatResultsShouldBe.add(Position.of(0, 5));
+//        whatResultsShouldBe.add(Position.of(1, 3));
+//        whatResultsShouldBe.add(Position.of(1, 4));
+//        whatResultsShouldBe.add(Position.of(1, 5));
 //
 //        assertTrue(legalMoves.size() == whatResultsShouldBe.size());
 //        assertTrue(whatResultsShouldBe.containsAll(legalMoves) && legalMoves.containsAll(whatResultsShouldBe));
@@ -133,11 +133,11 @@
 //        List<Position> legalMoves = game.getLegalMoves(game.getBoard()[Y][X].getPiece());
 //
 //        List<Position> whatResultsShouldBe = new ArrayList<>();
-//        whatResultsShouldBe.add(new Position(7, 3));
-//        whatResultsShouldBe.add(new Position(7, 5));
-//        whatResultsShouldBe.add(new Position(6, 3));
-//        whatResultsShouldBe.add(new Position(6, 4));
-//        whatResultsShouldBe.add(new Position(6, 5));
+//        whatResultsShouldBe.add(Position.of(7, 3));
+//        whatResultsShouldBe.add(Position.of(7, 5));
+//        whatResultsShouldBe.add(Position.of(6, 3));
+//        whatResultsShouldBe.add(Position.of(6, 4));
+//        whatResultsShouldBe.add(Position.of(6, 5));
 //
 //        assertTrue(legalMoves.size() == whatResultsShouldBe.size());
 //        assertTrue(whatResultsShouldBe.containsAll(legalMoves) && legalMoves.containsAll(whatResultsShouldBe));
@@ -152,11 +152,11 @@
 //        List<Position> legalMoves = game.getLegalMoves(game.getBoard()[Y][X].getPiece());
 //
 //        List<Position> whatResultsShouldBe = new ArrayList<>();
-//        whatResultsShouldBe.add(new Position(7, 3));
-//        whatResultsShouldBe.add(new Position(7, 5));
-//        whatResultsShouldBe.add(new Position(6, 3));
-//        whatResultsShouldBe.add(new Position(6, 4));
-//        whatResultsShouldBe.add(new Position(6, 5));
+//        whatResultsShouldBe.add(Position.of(7, 3));
+//        whatResultsShouldBe.add(Position.of(7, 5));
+//        whatResultsShouldBe.add(Position.of(6, 3));
+//        whatResultsShouldBe.add(Position.of(6, 4));
+//        whatResultsShouldBe.add(Position.of(6, 5));
 //
 //        assertTrue(legalMoves.size() == whatResultsShouldBe.size());
 //        assertTrue(whatResultsShouldBe.containsAll(legalMoves) && legalMoves.containsAll(whatResultsShouldBe));
@@ -171,11 +171,11 @@
 //        List<Position> legalMoves = game.getLegalMoves(game.getBoard()[Y][X].getPiece());
 //
 //        List<Position> whatResultsShouldBe = new ArrayList<>();
-//        whatResultsShouldBe.add(new Position(0, 3));
-//        whatResultsShouldBe.add(new Position(0, 5));
-//        whatResultsShouldBe.add(new Position(1, 3));
-//        whatResultsShouldBe.add(new Position(1, 4));
-//        whatResultsShouldBe.add(new Position(1, 5));
+//        whatResultsShouldBe.add(Position.of(0, 3));
+//        whatResultsShouldBe.add(Position.of(0, 5));
+//        whatResultsShouldBe.add(Position.of(1, 3));
+//        whatResultsShouldBe.add(Position.of(1, 4));
+//        whatResultsShouldBe.add(Position.of(1, 5));
 //
 //        assertTrue(legalMoves.size() == whatResultsShouldBe.size());
 //        assertTrue(whatResultsShouldBe.containsAll(legalMoves) && legalMoves.containsAll(whatResultsShouldBe));
@@ -190,14 +190,14 @@
 //        List<Position> legalMoves = game.getLegalMoves(game.getBoard()[Y][X].getPiece());
 //
 //        List<Position> whatResultsShouldBe = new ArrayList<>();
-//        whatResultsShouldBe.add(new Position(3, 3));
-//        whatResultsShouldBe.add(new Position(3, 4));
-//        whatResultsShouldBe.add(new Position(3, 5));
-//        whatResultsShouldBe.add(new Position(4, 3));
-//        whatResultsShouldBe.add(new Position(4, 5));
-//        whatResultsShouldBe.add(new Position(5, 3));
-//        whatResultsShouldBe.add(new Position(5, 4));
-//        whatResultsShouldBe.add(new Position(5, 5));
+//        whatResultsShouldBe.add(Position.of(3, 3));
+//        whatResultsShouldBe.add(Position.of(3, 4));
+//        whatResultsShouldBe.add(Position.of(3, 5));
+//        whatResultsShouldBe.add(Position.of(4, 3));
+//        whatResultsShouldBe.add(Position.of(4, 5));
+//        whatResultsShouldBe.add(Position.of(5, 3));
+//        whatResultsShouldBe.add(Position.of(5, 4));
+//        whatResultsShouldBe.add(Position.of(5, 5));
 //
 //        assertTrue(legalMoves.size() == whatResultsShouldBe.size());
 //        assertTrue(whatResultsShouldBe.containsAll(legalMoves) && legalMoves.containsAll(whatResultsShouldBe));
@@ -214,12 +214,12 @@
 //        List<Position> legalMoves = game.getLegalMoves(game.getBoard()[Y][X].getPiece());
 //
 //        List<Position> whatResultsShouldBe = new ArrayList<>();
-//        whatResultsShouldBe.add(new Position(3, 3));
-//        whatResultsShouldBe.add(new Position(3, 5));
-//        whatResultsShouldBe.add(new Position(4, 3));
-//        whatResultsShouldBe.add(new Position(4, 5));
-//        whatResultsShouldBe.add(new Position(5, 4));
-//        whatResultsShouldBe.add(new Position(5, 5));
+//        whatResultsShouldBe.add(Position.of(3, 3));
+//        whatResultsShouldBe.add(Position.of(3, 5));
+//        whatResultsShouldBe.add(Position.of(4, 3));
+//        whatResultsShouldBe.add(Position.of(4, 5));
+//        whatResultsShouldBe.add(Position.of(5, 4));
+//        whatResultsShouldBe.add(Position.of(5, 5));
 //
 //        assertTrue(legalMoves.size() == whatResultsShouldBe.size());
 //        assertTrue(whatResultsShouldBe.containsAll(legalMoves) && legalMoves.containsAll(whatResultsShouldBe));
@@ -41,7 +41,7 @@ public class PawnTest {
     @Test
     public void firstMoveCanMoveForwardTwoSpacesIfNotBlocked() {
         PieceColor pieceColor = PieceColor.BLACK;
-        Position position = new Position(3, 1);
+        Position position = Position.of(3, 1);
         int row = position.getCol();
         int column = position.getRow();
 
@@ -50,8 +50,8 @@ public class PawnTest {
         List<Position> legalMoves = pawn.getLegalMoves(game, true);
 
         List<Position> whatResultsShouldBe = new ArrayList<>();
-        whatResultsShouldBe.add(new Position(row + 1, column));
-        whatResultsShouldBe.add(new Position(row + 2, column));
+        whatResultsShouldBe.add(Position.of(row + 1, column));
+        whatResultsShouldBe.add(Position.of(row + 2, column));
 
         assertTrue(legalMoves.size() == whatResultsShouldBe.size());
         assertTrue(whatResultsShouldBe.containsAll(legalMoves)
@@ -61,21 +61,21 @@ public class PawnTest {
 
     @Test
     public void firstMoveCanMoveForwardOneSpaceIfBlocked() {
-        Position position = new Position(3, 1);
+        Position position = Position.of(3, 1);
         int row = position.getCol();
         int column = position.getRow();
 
         Pawn pawn = new Pawn(PieceColor.BLACK, position);
         game.getBoardSpace(position).setPiece(pawn);
 
-        Position blockingPosition = new Position(row + 2, column);
+        Position blockingPosition = Position.of(row + 2, column);
         Pawn blockingPiece = new Pawn(PieceColor.WHITE, blockingPosition);
         game.getBoardSpace(blockingPosition).setPiece(blockingPiece);
 
         List<Position> legalMoves = pawn.getLegalMoves(game, true);
 
         List<Position> whatResultsShouldBe = new ArrayList<>();
-        whatResultsShouldBe.add(new Position(row + 1, column));
+        whatResultsShouldBe.add(Position.of(row + 1, column));
 
         assertTrue(legalMoves.size() == whatResultsShouldBe.size());
         assertTrue(whatResultsShouldBe.containsAll(legalMoves)
@@ -84,7 +84,7 @@ public class PawnTest {
 
     @Test
     public void pieceMovesToTheCorrectLocation() {
-        Position startPos = new Position(3, 1);
+        Position startPos = Position.of(3, 1);
         Pawn pawn = new Pawn(PieceColor.BLACK, startPos);
         game.getBoardSpace(startPos).setPiece(pawn);
 
@@ -101,15 +101,15 @@ public class PawnTest {
         if (game.getCurrentTurn() != PieceColor.BLACK)
             game.changeTurns();
 
-        Position startPos = new Position(1, 3);
+        Position startPos = Position.of(1, 3);
         Pawn pawn = new Pawn(PieceColor.BLACK, startPos);
         game.getBoardSpace(startPos).setPiece(pawn);
 
-        Position capturePiecePos = new Position(2, 2);
+        Position capturePiecePos = Position.of(2, 2);
         Pawn capturePiece = new Pawn(PieceColor.WHITE, capturePiecePos);
         game.getBoardSpace(capturePiecePos).setPiece(capturePiece);
 
-        Position capturePiecePos2 = new Position(2, 4);
+        Position capturePiecePos2 = Position.of(2, 4);
         Pawn capturePiece2 = new Pawn(PieceColor.WHITE, capturePiecePos);
         game.getBoardSpace(capturePiecePos2).setPiece(capturePiece2);
 
@@ -123,15 +123,15 @@ public class PawnTest {
         if (game.getCurrentTurn() != PieceColor.BLACK)
             game.changeTurns();
 
-        Position startPos = new Position(1, 3);
+        Position startPos = Position.of(1, 3);
         Pawn pawn = new Pawn(PieceColor.BLACK, startPos);
         game.getBoardSpace(startPos).setPiece(pawn);
 
-        Position capturePiecePos = new Position(2, 2);
+        Position capturePiecePos = Position.of(2, 2);
         Pawn capturePiece = new Pawn(PieceColor.BLACK, capturePiecePos);
         game.getBoardSpace(capturePiecePos).setPiece(capturePiece);
 
-        Position capturePiecePos2 = new Position(2, 4);
+        Position capturePiecePos2 = Position.of(2, 4);
         Pawn capturePiece2 = new Pawn(PieceColor.BLACK, capturePiecePos);
         game.getBoardSpace(capturePiecePos2).setPiece(capturePiece2);
 
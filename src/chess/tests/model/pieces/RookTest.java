@@ -37,7 +37,7 @@ public class RookTest {
     @Test
     public void canMoveOnlyDownAndRightWhenInTopLeftCorner() {
         PieceColor pieceColor = PieceColor.BLACK;
-        Position position = new Position(0, 0);
+        Position position = Position.of(0, 0);
 
         Rook rook = new Rook(pieceColor, position);
         game.getBoardSpace(position).setPiece(rook);
@@ -45,8 +45,8 @@ public class RookTest {
 
         List<Position> whatResultsShouldBe = new ArrayList<>();
         for (int i = 1; i < 8; i++) {
-            whatResultsShouldBe.add(new Position(0, i)); //add space to the right
-            whatResultsShouldBe.add(new Position(i, 0));//add space below
+            whatResultsShouldBe.add(Position.of(0, i)); //add space to the right
+            whatResultsShouldBe.add(Position.of(i, 0));//add space below
         }
 
         assertTrue(legalMoves.size() == whatResultsShouldBe.size());
@@ -59,7 +59,7 @@ public class RookTest {
     @Test
     public void canMoveOnlyUpAndLeftWhenInBottomRightCorner() {
         PieceColor pieceColor = PieceColor.BLACK;
-        Position position = new Position(7, 7);
+        Position position = Position.of(7, 7);
 
         Rook rook = new Rook(pieceColor, position);
         game.getBoardSpace(position).setPiece(rook);
@@ -67,8 +67,8 @@ public class RookTest {
 
         List<Position> whatResultsShouldBe = new ArrayList<>();
         for (int i = 6; i >= 0; i--) {
-            whatResultsShouldBe.add(new Position(7, i)); //add space to the right
-            whatResultsShouldBe.add(new Position(i, 7));//add space below
+            whatResultsShouldBe.add(Position.of(7, i)); //add space to the right
+            whatResultsShouldBe.add(Position.of(i, 7));//add space below
         }
 
         assertTrue(legalMoves.size() == whatResultsShouldBe.size());
@@ -79,9 +79,9 @@ public class RookTest {
     @Test
     public void canCaptureAnEnemyPiece() {
         PieceColor rookColor = PieceColor.BLACK;
-        Position blackRookPosition = new Position(7, 7);
+        Position blackRookPosition = Position.of(7, 7);
         PieceColor pawnColor = PieceColor.WHITE;
-        Position whitePawnPosition = new Position(6, 7);
+        Position whitePawnPosition = Position.of(6, 7);
 
         Rook rook = new Rook(rookColor, blackRookPosition);
         game.getBoardSpace(blackRookPosition).setPiece(rook);
@@ -96,9 +96,9 @@ public class RookTest {
     @Test
     public void cannotCaptureAFriendlyPiece() {
         PieceColor rookColor = PieceColor.BLACK;
-        Position blackRookPosition = new Position(7, 7);
+        Position blackRookPosition = Position.of(7, 7);
         PieceColor pawnColor = PieceColor.BLACK;
-        Position blackPawnPosition = new Position(6, 7);
+        Position blackPawnPosition = Position.of(6, 7);
 
         Rook rook = new Rook(rookColor, blackRookPosition);
         game.getBoardSpace(blackRookPosition).setPiece(rook);
@@ -0,0 +1,90 @@
+package chess.tests.server;
+
+import chess.model.ChessGame;
+import chess.model.GameStatus;
+import chess.model.Position;
+import chess.server.BoardDiff;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the BoardDiff class
+ */
+public class BoardDiffTest {
+
+    private static String line(BoardDiff diff) {
+        ByteBuffer buffer = diff.encode();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void quietMoveChangesTwoSpaces() {
+        ChessGame game = new ChessGame();
+        game.makeMove(Position.of(6, 4), Position.of(4, 4));
+
+        assertEquals("DIFF 3 1 IN_PROGRESS e4P e2.\n", line(BoardDiff.ofLastMove(3, game)));
+    }
+
+    @Test
+    public void castlingAlsoChangesTheRookSpaces() {
+        ChessGame game = ChessGame.fromFen("4k3/8/8/8/8/8/8/4K2R w K - 0 1");
+        game.makeMove(Position.of(7, 4), Position.of(7, 6));
+
+        assertEquals("DIFF 1 1 IN_PROGRESS e1. f1R g1K h1.\n", line(BoardDiff.ofLastMove(1, game)));
+    }
+
+    @Test
+    public void enPassantAlsoChangesTheCapturedPawnSpace() {
+        ChessGame game = ChessGame.fromFen("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 2");
+        game.makeMove(Position.of(3, 4), Position.of(2, 3));
+
+        BoardDiff diff = BoardDiff.ofLastMove(1, game);
+        assertEquals('P', diff.getPiece(Position.of(2, 3).getIndex()));
+        assertEquals('.', diff.getPiece(Position.of(3, 3).getIndex()));
+        assertEquals('.', diff.getPiece(Position.of(3, 4).getIndex()));
+        assertEquals(3, Long.bitCount(diff.getChangedSpaces()));
+    }
+
+    @Test
+    public void promotionShowsThePromotedPiece() {
+        ChessGame game = ChessGame.fromFen("4k3/P7/8/8/8/8/8/4K3 w - - 0 1");
+        game.makeMove(Position.of(1, 0), Position.of(0, 0));
+
+        assertEquals("DIFF 1 1 CHECK a8Q a7.\n", line(BoardDiff.ofLastMove(1, game)));
+    }
+
+    @Test
+    public void mergedDiffsKeepTheLatestPieceOnEachSpace() {
+        ChessGame game = new ChessGame();
+        game.makeMove(Position.of(7, 6), Position.of(5, 5));
+        BoardDiff first = BoardDiff.ofLastMove(1, game);
+        game.makeMove(Position.of(0, 6), Position.of(2, 5));
+        BoardDiff second = BoardDiff.ofLastMove(1, game);
+        game.makeMove(Position.of(5, 5), Position.of(7, 6));
+        BoardDiff third = BoardDiff.ofLastMove(1, game);
+
+        BoardDiff merged = first.merge(second).merge(third);
+
+        assertEquals(3, merged.getPly());
+        assertEquals(GameStatus.IN_PROGRESS, merged.getStatus());
+        assertEquals("DIFF 1 3 IN_PROGRESS g8. f6n f3. g1N\n", line(merged));
+    }
+
+    @Test
+    public void everySpectatorGetsItsOwnBufferOverTheSameBytes() {
+        ChessGame game = new ChessGame();
+        game.makeMove(Position.of(6, 4), Position.of(4, 4));
+        BoardDiff diff = BoardDiff.ofLastMove(1, game);
+
+        ByteBuffer first = diff.encode();
+        first.position(first.limit());
+        assertEquals(line(diff).length(), diff.encode().remaining());
+    }
+}
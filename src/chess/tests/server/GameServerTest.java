@@ -0,0 +1,182 @@
+package chess.tests.server;
+
+import chess.server.GameServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the GameServer class, talking to it over the loopback address
+ */
+public class GameServerTest {
+
+    private GameServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new GameServer(0);
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    /**
+     * A player connected to the server
+     */
+    private class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        Client() throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(socket.getOutputStream(), true);
+        }
+
+        String send(String command) throws IOException {
+            out.println(command);
+            return in.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    private static String gameId(String createReply) {
+        return createReply.split(" ")[1];
+    }
+
+    @Test
+    public void playersCanPlayAGameToCheckmate() throws IOException {
+        try (Client white = new Client(); Client black = new Client()) {
+            String id = gameId(white.send("CREATE"));
+
+            assertEquals("OK " + id + " BLACK", black.send("JOIN " + id));
+            assertEquals("OK f3 IN_PROGRESS", white.send("MOVE " + id + " f2f3"));
+            assertEquals("OK e5 IN_PROGRESS", black.send("MOVE " + id + " e7e5"));
+            assertEquals("OK g4 IN_PROGRESS", white.send("MOVE " + id + " g2g4"));
+            assertEquals("OK Qh4# CHECKMATE", black.send("MOVE " + id + " d8h4"));
+
+            assertTrue(white.send("MOVE " + id + " a2a3").startsWith("ERROR"));
+            assertEquals("ERROR No game with id " + id, white.send("STATUS " + id));
+            assertEquals(4, server.getMoveLatency().getCount());
+        }
+    }
+
+    @Test
+    public void movesAreCheckedBeforeTheyAreMade() throws IOException {
+        try (Client white = new Client(); Client black = new Client(); Client spectator = new Client()) {
+            String id = gameId(white.send("CREATE"));
+
+            assertEquals("ERROR Game " + id + " is waiting for an opponent", white.send("MOVE " + id + " e2e4"));
+            black.send("JOIN " + id);
+            assertEquals("ERROR Game " + id + " is full", spectator.send("JOIN " + id));
+
+            assertEquals("ERROR It is not your turn", black.send("MOVE " + id + " e7e5"));
+            assertEquals("ERROR Illegal move e2e5", white.send("MOVE " + id + " e2e5"));
+            assertEquals("ERROR You are not playing in game " + id, spectator.send("MOVE " + id + " e2e4"));
+            assertEquals("ERROR No game with id 999", white.send("MOVE 999 e2e4"));
+            assertTrue(white.send("DANCE").startsWith("ERROR"));
+
+            assertEquals("OK BLACK_RESIGNED", black.send("RESIGN " + id));
+            assertEquals("ERROR No game with id " + id, white.send("MOVE " + id + " e2e4"));
+            assertEquals("OK BYE", white.send("QUIT"));
+        }
+    }
+
+    @Test
+    public void manyGamesArePlayedAtTheSameTime() throws Exception {
+        int games = 50;
+        String[] moves = {"g1f3", "b8c6", "f3g1", "c6b8", "g1f3", "b8c6", "f3g1", "c6b8"};
+
+        ExecutorService pool = Executors.newFixedThreadPool(games);
+        List<Future<String>> results = new ArrayList<>();
+
+        for (int i = 0; i < games; i++) {
+            results.add(pool.submit(() -> {
+                try (Client white = new Client(); Client black = new Client()) {
+                    String id = gameId(white.send("CREATE"));
+                    black.send("JOIN " + id);
+
+                    String reply = null;
+                    for (int move = 0; move < moves.length; move++)
+                        reply = (move % 2 == 0 ? white : black).send("MOVE " + id + " " + moves[move]);
+
+                    return reply;
+                }
+            }));
+        }
+
+        for (Future<String> result : results)
+            assertEquals("OK Nb8 THREEFOLD_REPETITION", result.get());
+        pool.shutdown();
+
+        //every game ended with a threefold repetition, so none of them are hosted anymore
+        assertEquals(0, server.getGameCount());
+        assertEquals(games * moves.length, server.getMoveLatency().getCount());
+        assertTrue(server.getMoveLatency().getPercentileNanos(50) <= server.getMoveLatency().getMaxNanos());
+    }
+
+    @Test
+    public void spectatorsAreSentTheChangedSpaces() throws IOException {
+        try (Client white = new Client(); Client black = new Client(); Client spectator = new Client()) {
+            String id = white.send("CREATE").split(" ")[1];
+            black.send("JOIN " + id);
+            white.send("MOVE " + id + " e2e4");
+
+            assertEquals("OK " + id + " WATCHING 1 rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1",
+                    spectator.send("WATCH " + id));
+
+            black.send("MOVE " + id + " d7d5");
+            assertEquals("DIFF " + id + " 2 IN_PROGRESS d7. d5p", spectator.in.readLine());
+            white.send("MOVE " + id + " e4d5");
+            assertEquals("DIFF " + id + " 3 IN_PROGRESS d5P e4.", spectator.in.readLine());
+        }
+    }
+
+    @Test
+    public void finishedAndAbandonedGamesAreNoLongerHosted() throws Exception {
+        try (Client white = new Client(); Client black = new Client()) {
+            String finished = white.send("CREATE").split(" ")[1];
+            black.send("JOIN " + finished);
+            white.send("CREATE");
+            assertEquals(2, server.getGameCount());
+
+            white.send("MOVE " + finished + " f2f3");
+            black.send("MOVE " + finished + " e7e5");
+            white.send("MOVE " + finished + " g2g4");
+            black.send("MOVE " + finished + " d8h4");
+            assertEquals(1, server.getGameCount());
+
+            String abandoned = white.send("CREATE").split(" ")[1];
+            black.send("JOIN " + abandoned);
+            assertEquals(2, server.getGameCount());
+        }
+
+        //the players disconnected, which is noticed in the background
+        for (int i = 0; i < 100 && server.getGameCount() > 0; i++)
+            Thread.sleep(20);
+        assertEquals(0, server.getGameCount());
+    }
+}
@@ -0,0 +1,194 @@
+package chess.tests.server;
+
+import chess.server.NioGameServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the NioGameServer class, talking to it over the loopback address
+ */
+public class NioGameServerTest {
+
+    private NioGameServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new NioGameServer(0);
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    /**
+     * A player connected to the server
+     */
+    private class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        Client() throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(socket.getOutputStream(), true);
+        }
+
+        String send(String command) throws IOException {
+            out.println(command);
+            return in.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    @Test
+    public void repliesHaveTheMoveAndTheGameStatus() throws IOException {
+        try (Client white = new Client(); Client black = new Client()) {
+            String id = white.send("CREATE").split(" ")[1];
+
+            assertEquals("OK " + id + " BLACK", black.send("JOIN " + id));
+            assertEquals("OK e4 IN_PROGRESS", white.send("MOVE " + id + " e2e4"));
+            assertEquals("OK f6 IN_PROGRESS", black.send("MOVE " + id + " f7f6"));
+            assertEquals("OK d4 IN_PROGRESS", white.send("MOVE " + id + " d2d4"));
+            assertEquals("OK g5 IN_PROGRESS", black.send("MOVE " + id + " g7g5"));
+            assertEquals("OK Qh5# CHECKMATE", white.send("MOVE " + id + " d1h5"));
+            assertEquals("ERROR No game with id " + id, black.send("MOVE " + id + " a7a6"));
+            assertEquals(5, server.getMoveLatency().getCount());
+        }
+    }
+
+    @Test
+    public void commandsSentTogetherAreAnsweredInOrder() throws IOException {
+        try (Client white = new Client(); Client black = new Client()) {
+            String id = white.send("CREATE").split(" ")[1];
+            black.send("JOIN " + id);
+
+            //several commands (one of them split in two) written before reading any replies
+            OutputStream out = white.socket.getOutputStream();
+            out.write(("MOVE " + id + " e2e4\r\nSTATUS " + id + "\nMOVE " + id + " e4e5\nSTA").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            out.write(("TUS " + id + "\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            assertEquals("OK e4 IN_PROGRESS", white.in.readLine());
+            assertTrue(white.in.readLine().startsWith("OK IN_PROGRESS rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b"));
+            assertEquals("ERROR It is not your turn", white.in.readLine());
+            assertTrue(white.in.readLine().startsWith("OK IN_PROGRESS"));
+        }
+    }
+
+    @Test
+    public void manyIdleConnectionsDoNotNeedAThreadEach() throws Exception {
+        int threadsBefore = Thread.activeCount();
+        List<Client> idleClients = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 500; i++)
+                idleClients.add(new Client());
+
+            try (Client white = new Client(); Client black = new Client()) {
+                String id = white.send("CREATE").split(" ")[1];
+                black.send("JOIN " + id);
+                assertEquals("OK Nf3 IN_PROGRESS", white.send("MOVE " + id + " g1f3"));
+            }
+
+            //connections are accepted and closed in the background
+            for (int i = 0; i < 100 && server.getConnectionCount() != idleClients.size(); i++)
+                Thread.sleep(50);
+
+            assertEquals(idleClients.size(), server.getConnectionCount());
+            assertTrue(Thread.activeCount() - threadsBefore < 50);
+        } finally {
+            for (Client client : idleClients)
+                client.close();
+        }
+    }
+
+    @Test
+    public void tooLongLinesCloseTheConnection() throws IOException {
+        try (Client client = new Client()) {
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i < 1000; i++)
+                line.append('x');
+
+            assertNull(client.send(line.toString()));
+        }
+    }
+
+    @Test
+    public void repliesLongerThanTheReplyBufferAreSentWhole() throws IOException {
+        try (Client client = new Client()) {
+            StringBuilder command = new StringBuilder();
+            for (int i = 0; i < 250; i++)
+                command.append('X');
+
+            //the error repeats the command, making the reply longer than the buffer it would usually go in
+            String reply = client.send(command.toString());
+            assertEquals("ERROR Unknown command " + command, reply);
+            assertTrue(reply.length() > 256);
+            assertEquals("OK BYE", client.send("QUIT"));
+        }
+    }
+
+    @Test
+    public void joiningAndDisconnectingRightAwayStillLeavesTheGame() throws Exception {
+        try (Client white = new Client()) {
+            String id = white.send("CREATE").split(" ")[1];
+
+            //the connection can be closed while the join is still waiting in the game's mailbox
+            try (Socket black = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+                black.getOutputStream().write(("JOIN " + id + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            assertEquals(1, server.getGameCount());
+        }
+
+        for (int i = 0; i < 100 && server.getGameCount() > 0; i++)
+            Thread.sleep(20);
+        assertEquals(0, server.getGameCount());
+    }
+
+    @Test
+    public void quitClosesTheConnection() throws IOException {
+        try (Client client = new Client()) {
+            assertEquals("OK BYE", client.send("QUIT"));
+            assertNull(client.in.readLine());
+        }
+    }
+
+    @Test
+    public void spectatorsAreSentTheChangedSpaces() throws IOException {
+        try (Client white = new Client(); Client black = new Client(); Client spectator = new Client()) {
+            String id = white.send("CREATE").split(" ")[1];
+            black.send("JOIN " + id);
+            white.send("MOVE " + id + " e2e4");
+
+            assertEquals("OK " + id + " WATCHING 1 rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1",
+                    spectator.send("WATCH " + id));
+
+            black.send("MOVE " + id + " d7d5");
+            assertEquals("DIFF " + id + " 2 IN_PROGRESS d7. d5p", spectator.in.readLine());
+            white.send("MOVE " + id + " e4d5");
+            assertEquals("DIFF " + id + " 3 IN_PROGRESS d5P e4.", spectator.in.readLine());
+        }
+    }
+}
@@ -23,15 +23,12 @@ public class Board extends TilePane {
     }
 
     public BoardPosition getBoardPosition(Position position) {
-        int row = position.getRow();
-        int column = position.getCol();
-
-        if (row < 0 || row > 7 || column < 0 || column > 7)
+        if (position == null)
             return null;
 
         for (BoardPosition[] boardRow : grid) {
             for(BoardPosition pos : boardRow) {
-                if (pos.getPosition().equals(position))
+                if (pos.getPosition() == position)
                     return pos;
             }
         }
@@ -48,7 +45,7 @@ public class Board extends TilePane {
         grid = new BoardPosition[8][8];
         for (int row = 0; row < 8; row++) {
             for (int col = 0; col < 8; col++) {
-                grid[row][col] = new BoardPosition(new Position(row, col));
+                grid[row][col] = new BoardPosition(Position.of(row, col));
 
                 setBackgroundColorForGridSpace(grid[row][col], row, col);
 
@@ -91,7 +88,7 @@ public class Board extends TilePane {
     public void update(ChessGame game) {
         for (int row = 0; row < ChessGame.BOARD_SIZE; row++) {
             for (int col = 0; col < ChessGame.BOARD_SIZE; col++) {
-                Position position = new Position(row, col);
+                Position position = Position.of(row, col);
                 getBoardPosition(position).update(game.getBoardSpace(position));
             }
         }
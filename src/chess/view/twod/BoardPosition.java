@@ -29,7 +29,7 @@ public class BoardPosition extends Button {
         int currRow = this.getPosition().getRow();
         int currCol = this.getPosition().getCol();
 
-        this.setPosition(new Position(7 - currRow, 7 - currCol));
+        this.setPosition(Position.of(7 - currRow, 7 - currCol));
     }
 
     public Position getPosition() {